@@ -17,6 +17,7 @@ repositories {
 }
 
 val junitVersion: String by project
+val jmhVersion: String by project
 
 dependencies {
     implementation("com.google.code.gson:gson:2.8.5")
@@ -25,6 +26,7 @@ dependencies {
     implementation("org.slf4j:slf4j-nop:1.7.30")
     implementation("com.lmax:disruptor:3.4.2")
     implementation("io.netty:netty-all:4.1.56.Final")
+    implementation("io.netty:netty-transport-native-epoll:4.1.56.Final:linux-x86_64")
     implementation("com.google.guava:guava:30.1-jre")
     implementation("com.moandjiezana.toml:toml4j:0.7.2")
     implementation("org.mindrot:jbcrypt:0.4-atlassian-1")
@@ -61,6 +63,15 @@ sourceSets {
             kotlin.srcDirs("plugins")
         }
     }
+    create("jmh") {
+        compileClasspath += main.get().output + main.get().compileClasspath
+        runtimeClasspath += main.get().output + main.get().runtimeClasspath
+    }
+}
+
+dependencies {
+    "jmhImplementation"("org.openjdk.jmh:jmh-core:$jmhVersion")
+    "jmhAnnotationProcessor"("org.openjdk.jmh:jmh-generator-annprocess:$jmhVersion")
 }
 
 javafx {
@@ -80,3 +91,11 @@ tasks.withType<KotlinCompile>().all {
 tasks.named<Test>("test") {
     useJUnitPlatform()
 }
+
+tasks.register<JavaExec>("jmh") {
+    description = "Runs the JMH benchmarks in src/jmh."
+    group = "verification"
+    main = "org.openjdk.jmh.Main"
+    classpath = sourceSets["jmh"].runtimeClasspath
+    args = listOfNotNull(project.findProperty("jmhInclude")?.toString())
+}
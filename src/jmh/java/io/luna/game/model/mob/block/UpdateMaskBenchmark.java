@@ -0,0 +1,116 @@
+package io.luna.game.model.mob.block;
+
+import io.luna.game.model.mob.block.UpdateFlagSet.UpdateFlag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bitmask based update mask computation in {@link AbstractUpdateBlockSet} against the previous
+ * {@link EnumSet} and {@link ArrayList} based implementation, which is reproduced here.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateMaskBenchmark {
+
+    /**
+     * The flags to benchmark with.
+     */
+    @Param({"NONE", "CHAT", "COMBAT", "ALL"})
+    public String scenario;
+
+    /**
+     * The block set.
+     */
+    private final PlayerUpdateBlockSet blockSet = new PlayerUpdateBlockSet();
+
+    /**
+     * The blocks, in encoding order.
+     */
+    private final List<UpdateBlock> blocks = blockSet.getUpdateBlocks();
+
+    /**
+     * The flags, as they were previously stored.
+     */
+    private EnumSet<UpdateFlag> legacyFlags;
+
+    /**
+     * The flags.
+     */
+    private UpdateFlagSet flags;
+
+    @Setup
+    public void setup() {
+        switch (scenario) {
+            case "NONE":
+                legacyFlags = EnumSet.noneOf(UpdateFlag.class);
+                break;
+            case "CHAT":
+                legacyFlags = EnumSet.of(UpdateFlag.CHAT);
+                break;
+            case "COMBAT":
+                legacyFlags = EnumSet.of(UpdateFlag.ANIMATION, UpdateFlag.GRAPHIC, UpdateFlag.PRIMARY_HIT,
+                        UpdateFlag.INTERACTION);
+                break;
+            case "ALL":
+                legacyFlags = EnumSet.allOf(UpdateFlag.class);
+                break;
+            default:
+                throw new IllegalStateException("Invalid scenario!");
+        }
+        flags = new UpdateFlagSet();
+        legacyFlags.forEach(flags::flag);
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        List<UpdateBlock> encodeBlocks = new ArrayList<>(blocks.size());
+        int mask = 0;
+        for (UpdateBlock block : blocks) {
+            UpdateFlag updateFlag = block.getFlag();
+            if (updateFlag == UpdateFlag.APPEARANCE) {
+                mask |= block.getPlayerMask();
+                encodeBlocks.add(block);
+                continue;
+            }
+            if (legacyFlags.contains(updateFlag)) {
+                mask |= block.getPlayerMask();
+                encodeBlocks.add(block);
+            }
+        }
+        bh.consume(mask);
+        for (UpdateBlock block : encodeBlocks) {
+            bh.consume(block);
+        }
+    }
+
+    @Benchmark
+    public void bitmask(Blackhole bh) {
+        int encodeBits = blockSet.computeEncodeBits(flags.getBits(), UpdateState.ADD_LOCAL);
+        bh.consume(blockSet.computeMask(encodeBits));
+        while (encodeBits != 0) {
+            bh.consume(blocks.get(Integer.numberOfTrailingZeros(encodeBits)));
+            encodeBits &= encodeBits - 1;
+        }
+    }
+}
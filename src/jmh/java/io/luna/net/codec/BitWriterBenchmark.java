@@ -0,0 +1,206 @@
+package io.luna.net.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the register based bit access in {@link ByteMessage} against the previous read-modify-write
+ * implementation, which is reproduced here. The written bits follow the movement section of a player update with a
+ * full local player list.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BitWriterBenchmark {
+
+    /**
+     * The amount of local players to write movement for.
+     */
+    private static final int LOCAL_PLAYERS = 255;
+
+    /**
+     * An array of bit masks, as previously used.
+     */
+    private static final int[] BIT_MASK = new int[32];
+
+    static {
+        for (int i = 0; i < BIT_MASK.length; i++) {
+            BIT_MASK[i] = (1 << i) - 1;
+        }
+    }
+
+    /**
+     * The legacy buffer.
+     */
+    private ByteBuf legacyBuf;
+
+    /**
+     * The legacy bit index.
+     */
+    private int bitIndex;
+
+    /**
+     * The message.
+     */
+    private ByteMessage msg;
+
+    @Setup
+    public void setup() {
+        legacyBuf = Unpooled.buffer(128);
+        msg = ByteMessage.raw();
+    }
+
+    @TearDown
+    public void tearDown() {
+        legacyBuf.release();
+        msg.release();
+    }
+
+    @Benchmark
+    public void legacy(Blackhole bh) {
+        legacyBuf.clear();
+        bitIndex = legacyBuf.writerIndex() << 3;
+        legacyPutBits(11, 2047);
+        legacyPutBits(1, 1);
+        legacyPutBits(2, 3);
+        legacyPutBits(2, 0);
+        legacyPutBits(1, 1);
+        legacyPutBits(7, 48);
+        legacyPutBits(1, 1);
+        legacyPutBits(7, 52);
+        legacyPutBits(8, LOCAL_PLAYERS);
+        for (int index = 0; index < LOCAL_PLAYERS; index++) {
+            switch (index & 3) {
+                case 0:
+                    legacyPutBits(1, 0);
+                    break;
+                case 1:
+                    legacyPutBits(1, 1);
+                    legacyPutBits(2, 1);
+                    legacyPutBits(3, index & 7);
+                    legacyPutBits(1, 0);
+                    break;
+                case 2:
+                    legacyPutBits(1, 1);
+                    legacyPutBits(2, 2);
+                    legacyPutBits(3, index & 7);
+                    legacyPutBits(3, (index + 1) & 7);
+                    legacyPutBits(1, 1);
+                    break;
+                case 3:
+                    legacyPutBits(1, 1);
+                    legacyPutBits(2, 0);
+                    break;
+            }
+        }
+        legacyPutBits(11, LOCAL_PLAYERS + 1);
+        legacyPutBits(5, 3);
+        legacyPutBits(1, 1);
+        legacyPutBits(1, 1);
+        legacyPutBits(5, 29);
+        legacyBuf.writerIndex((bitIndex + 7) >> 3);
+        bh.consume(legacyBuf.writerIndex());
+    }
+
+    @Benchmark
+    public void register(Blackhole bh) {
+        msg.getBuffer().clear();
+        msg.startBitAccess();
+        msg.putBits(11, 2047);
+        msg.putBit(true);
+        msg.putBits(2, 3);
+        msg.putBits(2, 0);
+        msg.putBit(true);
+        msg.putBits(7, 48);
+        msg.putBit(true);
+        msg.putBits(7, 52);
+        msg.putBits(8, LOCAL_PLAYERS);
+        for (int index = 0; index < LOCAL_PLAYERS; index++) {
+            switch (index & 3) {
+                case 0:
+                    msg.putBit(false);
+                    break;
+                case 1:
+                    msg.putBit(true);
+                    msg.putBits(2, 1);
+                    msg.putBits(3, index & 7);
+                    msg.putBit(false);
+                    break;
+                case 2:
+                    msg.putBit(true);
+                    msg.putBits(2, 2);
+                    msg.putBits(3, index & 7);
+                    msg.putBits(3, (index + 1) & 7);
+                    msg.putBit(true);
+                    break;
+                case 3:
+                    msg.putBit(true);
+                    msg.putBits(2, 0);
+                    break;
+            }
+        }
+        msg.putBits(11, LOCAL_PLAYERS + 1);
+        msg.putBits(5, 3);
+        msg.putBit(true);
+        msg.putBit(true);
+        msg.putBits(5, 29);
+        msg.endBitAccess();
+        bh.consume(msg.getBuffer().writerIndex());
+    }
+
+    /**
+     * Writes bits using the previous read-modify-write implementation.
+     */
+    private void legacyPutBits(int amount, int value) {
+        int bytePos = bitIndex >> 3;
+        int bitOffset = 8 - (bitIndex & 7);
+
+        bitIndex = bitIndex + amount;
+
+        int requiredSpace = bytePos - legacyBuf.writerIndex() + 1;
+        requiredSpace += (amount + 7) / 8;
+
+        if (legacyBuf.writableBytes() < requiredSpace) {
+            legacyBuf.capacity(legacyBuf.capacity() + requiredSpace);
+        }
+
+        for (; amount > bitOffset; bitOffset = 8) {
+            byte tmp = legacyBuf.getByte(bytePos);
+            tmp &= ~BIT_MASK[bitOffset];
+            tmp |= (value >> (amount - bitOffset)) & BIT_MASK[bitOffset];
+            legacyBuf.setByte(bytePos++, tmp);
+            amount -= bitOffset;
+        }
+
+        if (amount == bitOffset) {
+            byte tmp = legacyBuf.getByte(bytePos);
+            tmp &= ~BIT_MASK[bitOffset];
+            tmp |= value & BIT_MASK[bitOffset];
+            legacyBuf.setByte(bytePos, tmp);
+        } else {
+            byte tmp = legacyBuf.getByte(bytePos);
+            tmp &= ~(BIT_MASK[amount] << (bitOffset - amount));
+            tmp |= (value & BIT_MASK[amount]) << (bitOffset - amount);
+            legacyBuf.setByte(bytePos, tmp);
+        }
+    }
+}
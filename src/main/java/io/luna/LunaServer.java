@@ -3,6 +3,7 @@ package io.luna;
 import com.google.common.base.Stopwatch;
 import com.google.common.util.concurrent.Service;
 import com.google.common.util.concurrent.ServiceManager;
+import io.luna.LunaSettings.NetworkSettings;
 import io.luna.game.plugin.PluginBootstrap;
 import io.luna.net.LunaChannelFilter;
 import io.luna.net.LunaChannelInitializer;
@@ -17,7 +18,12 @@ import io.luna.util.parser.impl.NpcCombatDefinitionFileParser;
 import io.luna.util.parser.impl.NpcDefinitionFileParser;
 import io.luna.util.parser.impl.ObjectDefinitionFileParser;
 import io.netty.bootstrap.ServerBootstrap;
+import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
 import io.netty.util.ResourceLeakDetector;
@@ -83,19 +89,47 @@ public final class LunaServer {
     }
 
     /**
-     * Initializes the network server using Netty.
+     * Initializes the network server using Netty. The native epoll transport is used if it's preferred and available,
+     * otherwise NIO is used.
      */
     private void initNetwork() {
 
         ResourceLeakDetector.setLevel(Luna.settings().resourceLeakDetection());
 
-        ServerBootstrap bootstrap = new ServerBootstrap();
-        EventLoopGroup loopGroup = new NioEventLoopGroup();
+        NetworkSettings network = Luna.settings().network();
+        boolean epoll = network.preferEpoll() && Epoll.isAvailable();
+        EventLoopGroup bossGroup = newEventLoopGroup(epoll, network.bossThreads());
+        EventLoopGroup workerGroup = newEventLoopGroup(epoll, network.workerThreads());
 
-        bootstrap.group(loopGroup);
-        bootstrap.channel(NioServerSocketChannel.class);
+        ServerBootstrap bootstrap = new ServerBootstrap();
+        bootstrap.group(bossGroup, workerGroup);
+        bootstrap.channel(epoll ? EpollServerSocketChannel.class : NioServerSocketChannel.class);
+        bootstrap.option(ChannelOption.SO_BACKLOG, network.backlog());
+        bootstrap.childOption(ChannelOption.TCP_NODELAY, network.tcpNoDelay());
+        bootstrap.childOption(ChannelOption.WRITE_BUFFER_WATER_MARK,
+                new WriteBufferWaterMark(network.writeBufferLowWaterMark(), network.writeBufferHighWaterMark()));
+        if (network.sendBufferSize() > 0) {
+            bootstrap.childOption(ChannelOption.SO_SNDBUF, network.sendBufferSize());
+        }
+        if (network.receiveBufferSize() > 0) {
+            bootstrap.childOption(ChannelOption.SO_RCVBUF, network.receiveBufferSize());
+        }
         bootstrap.childHandler(new LunaChannelInitializer(context, channelFilter, messageRepository));
         bootstrap.bind(Luna.settings().port()).syncUninterruptibly();
+
+        logger.info("Using the {} transport with {} boss and {} worker thread(s).", epoll ? "epoll" : "NIO",
+                box(network.bossThreads()), network.workerThreads() > 0 ? box(network.workerThreads()) : "default");
+    }
+
+    /**
+     * Creates a new event loop group for the selected transport.
+     *
+     * @param epoll If the epoll transport is being used.
+     * @param threads The amount of threads, or {@code 0} for Netty's default.
+     * @return The event loop group.
+     */
+    private EventLoopGroup newEventLoopGroup(boolean epoll, int threads) {
+        return epoll ? new EpollEventLoopGroup(threads) : new NioEventLoopGroup(threads);
     }
 
     /**
@@ -1,8 +1,13 @@
 package io.luna;
 
 import io.luna.game.model.Position;
+import io.luna.game.service.GameTickScheduler.CatchUpPolicy;
+import io.luna.net.msg.MessageCategory;
 import io.netty.util.ResourceLeakDetector.Level;
 
+import java.util.EnumMap;
+import java.util.Map;
+
 /**
  * Holds settings parsed from the {@code ./data/luna.toml} file. Effectively constants, as they are only modified by GSON.
  *
@@ -10,6 +15,152 @@ import io.netty.util.ResourceLeakDetector.Level;
  */
 public final class LunaSettings {
 
+    /**
+     * Holds the inbound budget of a single {@link MessageCategory}, from the {@code [network.messageBudgets]} section.
+     */
+    public static final class MessageBudgetSettings {
+
+        private double rate;
+        private int burst;
+
+        /**
+         * The amount of messages per second a client can sustain.
+         */
+        public double rate() {
+            return rate;
+        }
+
+        /**
+         * The amount of messages a client can send at once, before being limited to {@link #rate()}.
+         */
+        public int burst() {
+            return burst;
+        }
+
+        /**
+         * To prevent public instantiation.
+         */
+        private MessageBudgetSettings() {
+
+        }
+    }
+
+    /**
+     * Holds the settings from the {@code [network]} section, which tune Netty's transport and socket options.
+     */
+    public static final class NetworkSettings {
+
+        private boolean preferEpoll = true;
+        private int bossThreads = 1;
+        private int workerThreads;
+        private int backlog = 128;
+        private boolean tcpNoDelay = true;
+        private int sendBufferSize;
+        private int receiveBufferSize;
+        private int writeBufferLowWaterMark = 32768;
+        private int writeBufferHighWaterMark = 65536;
+        private int decodedMessageLimit = 15;
+        private int rejectedMessageLimit;
+        private Map<MessageCategory, MessageBudgetSettings> messageBudgets = new EnumMap<>(MessageCategory.class);
+
+        /**
+         * If the native epoll transport should be used when it's available. Netty will fall back to the NIO transport
+         * on platforms that don't support epoll. Defaults to {@code true}.
+         */
+        public boolean preferEpoll() {
+            return preferEpoll;
+        }
+
+        /**
+         * The amount of threads that accept new connections. Defaults to {@code 1}.
+         */
+        public int bossThreads() {
+            return bossThreads;
+        }
+
+        /**
+         * The amount of threads that handle connection I/O. A value of {@code 0} uses Netty's default, twice the
+         * amount of available processors.
+         */
+        public int workerThreads() {
+            return workerThreads;
+        }
+
+        /**
+         * The maximum amount of pending connections that haven't been accepted yet. Defaults to {@code 128}.
+         */
+        public int backlog() {
+            return backlog;
+        }
+
+        /**
+         * If Nagle's algorithm should be disabled. Game messages are small and latency sensitive, so this should
+         * almost always be {@code true}, which is the default.
+         */
+        public boolean tcpNoDelay() {
+            return tcpNoDelay;
+        }
+
+        /**
+         * The socket send buffer size in bytes. A value of {@code 0} uses the operating system default.
+         */
+        public int sendBufferSize() {
+            return sendBufferSize;
+        }
+
+        /**
+         * The socket receive buffer size in bytes. A value of {@code 0} uses the operating system default.
+         */
+        public int receiveBufferSize() {
+            return receiveBufferSize;
+        }
+
+        /**
+         * The amount of pending outbound bytes at which a channel becomes writable again. Defaults to 32 KiB.
+         */
+        public int writeBufferLowWaterMark() {
+            return writeBufferLowWaterMark;
+        }
+
+        /**
+         * The amount of pending outbound bytes at which a channel stops being writable. Defaults to 64 KiB.
+         */
+        public int writeBufferHighWaterMark() {
+            return writeBufferHighWaterMark;
+        }
+
+        /**
+         * The maximum amount of decoded messages a client can have waiting to be handled on the next tick. Messages
+         * past this limit are dropped. Defaults to {@code 15}.
+         */
+        public int decodedMessageLimit() {
+            return decodedMessageLimit;
+        }
+
+        /**
+         * The amount of over budget messages a client can send within one second before being disconnected. A value
+         * of {@code 0} never disconnects clients, over budget messages are still rejected.
+         */
+        public int rejectedMessageLimit() {
+            return rejectedMessageLimit;
+        }
+
+        /**
+         * The inbound budgets of each message category. Categories without a budget are unlimited, and by default no
+         * category has one.
+         */
+        public Map<MessageCategory, MessageBudgetSettings> messageBudgets() {
+            return messageBudgets;
+        }
+
+        /**
+         * To prevent public instantiation.
+         */
+        private NetworkSettings() {
+
+        }
+    }
+
     private LunaRuntimeMode runtimeMode;
     private int port;
     private int connectionLimit;
@@ -18,6 +169,10 @@ public final class LunaSettings {
     private boolean pluginGui;
     private String serializer;
     private int passwordStrength;
+    private CatchUpPolicy tickCatchUpPolicy = CatchUpPolicy.SPREAD;
+    private int viewDistanceCrowdThreshold;
+    private int viewDistanceTickThreshold;
+    private NetworkSettings network = new NetworkSettings();
 
     /**
      * The port that the server will be bound on.
@@ -73,6 +228,38 @@ public final class LunaSettings {
         return passwordStrength;
     }
 
+    /**
+     * How the game thread recovers from ticks that run over their 600ms budget. {@code SKIP} drops missed ticks,
+     * {@code COMPRESS} runs them back to back, and {@code SPREAD} runs them at half the interval until caught up.
+     * Defaults to {@code SPREAD}.
+     */
+    public CatchUpPolicy tickCatchUpPolicy() {
+        return tickCatchUpPolicy;
+    }
+
+    /**
+     * The amount of local players and npcs at which a player's viewing distance starts shrinking, so that their
+     * synchronization cost stays bounded in crowds. A value of {@code 0} disables crowd-based shrinking.
+     */
+    public int viewDistanceCrowdThreshold() {
+        return viewDistanceCrowdThreshold;
+    }
+
+    /**
+     * The time in milliseconds a tick can take, up to the end of synchronization, before every player's viewing
+     * distance starts shrinking. A value of {@code 0} disables time-based shrinking.
+     */
+    public int viewDistanceTickThreshold() {
+        return viewDistanceTickThreshold;
+    }
+
+    /**
+     * The network settings. Every setting falls back to its default if the {@code [network]} section is missing.
+     */
+    public NetworkSettings network() {
+        return network;
+    }
+
     /**
      * Determines if luna is running in Beta mode.
      */
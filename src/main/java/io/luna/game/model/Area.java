@@ -157,4 +157,32 @@ public class Area {
     public int size() {
         return length() * width();
     }
+
+    /**
+     * @return The south-west x coordinate.
+     */
+    public final int getSouthWestX() {
+        return southWestX;
+    }
+
+    /**
+     * @return The south-west y coordinate.
+     */
+    public final int getSouthWestY() {
+        return southWestY;
+    }
+
+    /**
+     * @return The north-east x coordinate.
+     */
+    public final int getNorthEastX() {
+        return northEastX;
+    }
+
+    /**
+     * @return The north-east y coordinate.
+     */
+    public final int getNorthEastY() {
+        return northEastY;
+    }
 }
\ No newline at end of file
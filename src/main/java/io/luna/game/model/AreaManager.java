@@ -4,6 +4,8 @@ import com.google.common.collect.Iterators;
 import com.google.common.collect.UnmodifiableIterator;
 import io.luna.game.model.mob.Player;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
@@ -11,19 +13,29 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import static com.google.common.base.Preconditions.checkState;
 
 /**
- * A model that handles {@link Area} registration and tracking.
+ * A model that handles {@link Area} registration and tracking. Registered areas are indexed by every region-sized
+ * bucket they overlap, so the candidate areas for a position are resolved in constant time.
  *
  * @author lare96 <http://github.com/lare96>
  */
 public final class AreaManager implements Iterable<Area> {
 
+    /**
+     * The amount of bits used to address a tile within a bucket, along each axis.
+     */
+    private static final int BUCKET_BITS = 6;
+
+    /**
+     * The amount of buckets along each axis, enough to cover every tile coordinate the client can address.
+     */
+    private static final int BUCKETS = 16384 >> BUCKET_BITS;
+
     /**
      * The world.
      */
@@ -34,6 +46,11 @@ public final class AreaManager implements Iterable<Area> {
      */
     private final Set<Area> registeredAreas = new HashSet<>();
 
+    /**
+     * The areas overlapping each bucket, or {@code null} for buckets without any areas.
+     */
+    private final Area[][] buckets = new Area[BUCKETS * BUCKETS][];
+
     /**
      * Creates a new {@link AreaManager}.
      *
@@ -60,42 +77,84 @@ public final class AreaManager implements Iterable<Area> {
      */
     public void register(Area area) {
         checkState(registeredAreas.add(area), "This area is already registered!");
+
+        int minX = clamp(area.getSouthWestX() >> BUCKET_BITS);
+        int minY = clamp(area.getSouthWestY() >> BUCKET_BITS);
+        int maxX = clamp(area.getNorthEastX() >> BUCKET_BITS);
+        int maxY = clamp(area.getNorthEastY() >> BUCKET_BITS);
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                int index = x * BUCKETS + y;
+                Area[] bucket = buckets[index];
+                if (bucket == null) {
+                    buckets[index] = new Area[]{area};
+                } else {
+                    bucket = Arrays.copyOf(bucket, bucket.length + 1);
+                    bucket[bucket.length - 1] = area;
+                    buckets[index] = bucket;
+                }
+            }
+        }
     }
 
     /**
-     * Fires an {@code enter}, {@code exit}, or {@code move} listener on position changes.
+     * Fires an {@code enter}, {@code exit}, or {@code move} listener on position changes. Only the areas overlapping
+     * the buckets of {@code oldPos} and {@code newPos} are checked.
      *
      * @param player The player.
      * @param oldPos The old position.
      * @param newPos The new position.
      */
     public void notifyPositionChange(Player player, Position oldPos, Position newPos) {
-        for (var area : registeredAreas) {
-            boolean containsOld = area.contains(oldPos);
-            boolean containsNew = area.contains(newPos);
-            if (containsOld && !containsNew) {
-                // Old position is in this area, new position isn't.
-                area.exit(player);
-            } else if (!containsOld && containsNew) {
-                // Old position isn't in this area, new position is.
-                area.enter(player);
-            } else if (containsOld && containsNew) {
-                // Old position is in this area, so is the new one.
-                area.move(player);
+        Area[] oldAreas = bucketOf(oldPos);
+        Area[] newAreas = bucketOf(newPos);
+        if (oldAreas != null) {
+            for (Area area : oldAreas) {
+                notifyPositionChange(area, player, oldPos, newPos);
+            }
+        }
+        if (newAreas != null && newAreas != oldAreas) {
+            int oldBucketX = oldPos.getX() >> BUCKET_BITS;
+            int oldBucketY = oldPos.getY() >> BUCKET_BITS;
+            for (Area area : newAreas) {
+                // Areas that overlap both buckets were already checked.
+                if (oldAreas == null || !overlaps(area, oldBucketX, oldBucketY)) {
+                    notifyPositionChange(area, player, oldPos, newPos);
+                }
             }
         }
     }
 
+    /**
+     * Fires an {@code enter}, {@code exit}, or {@code move} listener for a single area on position changes.
+     *
+     * @param area The area.
+     * @param player The player.
+     * @param oldPos The old position.
+     * @param newPos The new position.
+     */
+    private void notifyPositionChange(Area area, Player player, Position oldPos, Position newPos) {
+        boolean containsOld = area.contains(oldPos);
+        boolean containsNew = area.contains(newPos);
+        if (containsOld && !containsNew) {
+            // Old position is in this area, new position isn't.
+            area.exit(player);
+        } else if (!containsOld && containsNew) {
+            // Old position isn't in this area, new position is.
+            area.enter(player);
+        } else if (containsOld && containsNew) {
+            // Old position is in this area, so is the new one.
+            area.move(player);
+        }
+    }
+
     /**
      * Fires an {@code enter} listener on login.
      *
      * @param player The player.
      */
     public void notifyLogin(Player player) {
-        var position = player.getPosition();
-        registeredAreas.stream()
-            .filter(area -> area.contains(position))
-            .forEach(area -> area.enter(player));
+        getAllContaining(player.getPosition()).forEach(area -> area.enter(player));
     }
 
     /**
@@ -104,10 +163,7 @@ public final class AreaManager implements Iterable<Area> {
      * @param player The player.
      */
     public void notifyLogout(Player player) {
-        var position = player.getPosition();
-        registeredAreas.stream()
-            .filter(area -> area.contains(position))
-            .forEach(area -> area.exit(player));
+        getAllContaining(player.getPosition()).forEach(area -> area.exit(player));
     }
 
     /**
@@ -117,9 +173,17 @@ public final class AreaManager implements Iterable<Area> {
      * @return The areas that contain the position.
      */
     public List<Area> getAllContaining(Position position) {
-        return registeredAreas.stream()
-            .filter(area -> area.contains(position))
-            .collect(Collectors.toList());
+        Area[] candidates = bucketOf(position);
+        if (candidates == null) {
+            return List.of();
+        }
+        List<Area> containing = new ArrayList<>(candidates.length);
+        for (Area area : candidates) {
+            if (area.contains(position)) {
+                containing.add(area);
+            }
+        }
+        return containing;
     }
 
     /**
@@ -150,4 +214,36 @@ public final class AreaManager implements Iterable<Area> {
     public Stream<Area> stream() {
         return StreamSupport.stream(spliterator(), false);
     }
+
+    /**
+     * Retrieves the areas overlapping the bucket of {@code position}.
+     *
+     * @param position The position.
+     * @return The areas, or {@code null} if there are none.
+     */
+    private Area[] bucketOf(Position position) {
+        int x = position.getX() >> BUCKET_BITS;
+        int y = position.getY() >> BUCKET_BITS;
+        if (x >= BUCKETS || y >= BUCKETS) {
+            return null;
+        }
+        return buckets[x * BUCKETS + y];
+    }
+
+    /**
+     * Determines if {@code area} overlaps the bucket at {@code bucketX, bucketY}.
+     */
+    private static boolean overlaps(Area area, int bucketX, int bucketY) {
+        return clamp(area.getSouthWestX() >> BUCKET_BITS) <= bucketX &&
+                clamp(area.getNorthEastX() >> BUCKET_BITS) >= bucketX &&
+                clamp(area.getSouthWestY() >> BUCKET_BITS) <= bucketY &&
+                clamp(area.getNorthEastY() >> BUCKET_BITS) >= bucketY;
+    }
+
+    /**
+     * Clamps a bucket coordinate to the bounds of the map.
+     */
+    private static int clamp(int bucket) {
+        return Math.max(0, Math.min(bucket, BUCKETS - 1));
+    }
 }
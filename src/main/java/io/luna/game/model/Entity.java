@@ -3,6 +3,7 @@ package io.luna.game.model;
 import io.luna.LunaContext;
 import io.luna.game.model.chunk.Chunk;
 import io.luna.game.model.chunk.ChunkManager;
+import io.luna.game.model.chunk.ChunkOccupants;
 import io.luna.game.model.chunk.ChunkPosition;
 import io.luna.game.model.mob.Mob;
 import io.luna.game.model.mob.MobList;
@@ -59,6 +60,11 @@ public abstract class Entity {
      */
     protected Chunk currentChunk;
 
+    /**
+     * The slot of this entity within the occupants of its current chunk.
+     */
+    private int chunkSlot = -1;
+
     /**
      * Creates a new {@link Entity}.
      *
@@ -218,10 +224,12 @@ public abstract class Entity {
         } else if (!currentChunk.getPosition().equals(next)) {
             // We have a chunk, and it's not equal to the new one.
             currentChunk.remove(this);
+            markModified(currentChunk);
 
             currentChunk = world.getChunks().load(next);
             currentChunk.add(this);
         }
+        markModified(currentChunk);
     }
 
     /**
@@ -230,6 +238,22 @@ public abstract class Entity {
     private void removeCurrentChunk() {
         if (currentChunk != null) {
             currentChunk.remove(this);
+            markModified(currentChunk);
+        }
+    }
+
+    /**
+     * Flags {@code chunk} as modified by this entity, notifying its subscribers if this entity is a mob.
+     *
+     * @param chunk The chunk.
+     */
+    private void markModified(Chunk chunk) {
+        long tick = world.getCurrentTick();
+        chunk.setLastModified(tick);
+        if (type == EntityType.PLAYER || type == EntityType.NPC) {
+            chunk.notifySubscribers(type, tick);
+        } else {
+            chunk.setLastStationaryModified(tick);
         }
     }
 
@@ -289,6 +313,23 @@ public abstract class Entity {
         return position.getChunkPosition();
     }
 
+    /**
+     * @return The slot of this entity within the occupants of its current chunk.
+     */
+    public final int getChunkSlot() {
+        return chunkSlot;
+    }
+
+    /**
+     * Sets the slot of this entity within the occupants of its current chunk. <strong>Warning:</strong> Do not call
+     * this directly unless you're familiar with the internal API, it's managed by {@link ChunkOccupants}.
+     *
+     * @param chunkSlot The value to set to.
+     */
+    public final void setChunkSlot(int chunkSlot) {
+        this.chunkSlot = chunkSlot;
+    }
+
     /**
      * @return The chunk manager.
      */
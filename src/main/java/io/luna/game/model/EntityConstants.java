@@ -17,6 +17,21 @@ public final class EntityConstants {
      */
     public static final int LOGOUT_THRESHOLD = 50;
 
+    /**
+     * The maximum amount of players that can be online.
+     */
+    public static final int MAX_PLAYERS = 2048;
+
+    /**
+     * The maximum amount of npcs that can be registered.
+     */
+    public static final int MAX_NPCS = 16384;
+
+    /**
+     * The maximum amount of mobs of each type that can be local to a player.
+     */
+    public static final int MAX_LOCAL_MOBS = 255;
+
     /**
      * The maximum amount of tiles a player can view.
      */
@@ -153,8 +153,7 @@ public abstract class EntityList<E extends StationaryEntity> implements Iterable
      * @return The set of entities.
      */
     public final Stream<E> findAll(Position position) {
-        var chunkManager = world.getChunks();
-        Stream<E> insideChunk = chunkManager.load(position.getChunkPosition()).stream(type);
+        Stream<E> insideChunk = world.getChunks().stream(position, type);
         return insideChunk.filter(entity -> entity.position.equals(position));
     }
 
@@ -1,16 +1,11 @@
 package io.luna.game.model;
 
-import com.google.common.collect.ImmutableList;
 import io.luna.LunaContext;
-import io.luna.game.model.chunk.Chunk;
+import io.luna.game.model.chunk.ChunkPosition;
 import io.luna.game.model.mob.Player;
 import io.luna.net.msg.GameMessageWriter;
-import io.luna.net.msg.out.ChunkPlacementMessageWriter;
 
-import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
-import java.util.Set;
 
 /**
  * An abstraction model representing non-moving {@link Entity}.
@@ -31,16 +26,6 @@ public abstract class StationaryEntity extends Entity {
      */
     private final Optional<Player> owner;
 
-    /**
-     * The position used for placement.
-     */
-    private final Position placement;
-
-    /**
-     * The surrounding players. Initialized lazily, use {@link #getSurroundingPlayers()}.
-     */
-    private ImmutableList<Set<Player>> surroundingPlayers;
-
     /**
      * If this entity is hidden.
      */
@@ -57,7 +42,6 @@ public abstract class StationaryEntity extends Entity {
     public StationaryEntity(LunaContext context, Position position, EntityType type, Optional<Player> owner) {
         super(context, position, type);
         this.owner = owner;
-        placement = position;//new Position(getChunkPosition().getAbsX(), getChunkPosition().getAbsY());
     }
 
     /**
@@ -122,41 +106,40 @@ public abstract class StationaryEntity extends Entity {
     }
 
     /**
-     * Updates this entity, either locally or globally.
+     * Updates this entity, either locally or globally. Local updates are batched for the owner, global updates are
+     * logged to this entity's chunk and sent to every player that can see it during synchronization.
      *
      * @param updateType The update type to apply.
      */
     private void applyUpdate(UpdateType updateType) {
-        if (owner.isPresent() && owner.get().isViewableFrom(this)) {
+        if (owner.isPresent()) {
             // We have a player to update for.
             sendUpdateMessage(owner.get(), updateType);
         } else {
-            // We don't, so update for all viewable surrounding players.
-            for (Set<Player> chunkPlayers : getSurroundingPlayers()) {
-                for (Player inside : chunkPlayers) {
-                    if (isViewableFrom(inside)) {
-                        sendUpdateMessage(inside, updateType);
-                    }
-                }
-            }
+            // We don't, so update for all players that can see our chunk.
+            ChunkPosition chunkPosition = getChunkPosition();
+            int offset = chunkPosition.offset(position);
+            GameMessageWriter update = updateType == UpdateType.SHOW ? showMessage(offset) : hideMessage(offset);
+            world.getChunks().logUpdate(chunkPosition, update);
+            hidden = updateType == UpdateType.HIDE;
         }
     }
 
     /**
-     * Sends an update message to {@code player}.
+     * Adds an update message for {@code player} to their chunk update batch. It will be sent along with all other
+     * updates to the same chunk during synchronization.
      *
      * @param player The player.
      * @param updateType The update type to apply.
      */
     public void sendUpdateMessage(Player player, UpdateType updateType) {
-        player.queue(new ChunkPlacementMessageWriter(placement));
-
-        int offset = getChunkPosition().offset(position);
+        ChunkPosition chunkPosition = getChunkPosition();
+        int offset = chunkPosition.offset(position);
         if (updateType == UpdateType.SHOW) {
-            player.queue(showMessage(offset));
+            player.getChunkUpdates().add(chunkPosition, showMessage(offset));
             hidden = false;
         } else if (updateType == UpdateType.HIDE) {
-            player.queue(hideMessage(offset));
+            player.getChunkUpdates().add(chunkPosition, hideMessage(offset));
             hidden = true;
         }
     }
@@ -208,26 +191,4 @@ public abstract class StationaryEntity extends Entity {
     public boolean isHidden() {
         return hidden;
     }
-
-    /**
-     * Returns an {@link ImmutableList} representing surrounding players. Each set represents players within a viewable
-     * chunk.
-     * <p>
-     * We retain references to the original sets instead of flattening them, so that they implicitly stay updated as
-     * players move in and out of view of this entity. This means we only have to build the returned list once.
-     */
-    public final ImmutableList<Set<Player>> getSurroundingPlayers() {
-        if (surroundingPlayers == null) {
-            ImmutableList.Builder<Set<Player>> builder = ImmutableList.builder();
-            // Retrieve viewable chunks.
-            List<Chunk> viewableChunks = world.getChunks().getViewableChunks(position);
-            for (Chunk chunk : viewableChunks) {
-                // Wrap players in immutable view, add it.
-                Set<Player> players = Collections.unmodifiableSet(chunk.getAll(EntityType.PLAYER));
-                builder.add(players);
-            }
-            surroundingPlayers = builder.build();
-        }
-        return surroundingPlayers;
-    }
-}
\ No newline at end of file
+}
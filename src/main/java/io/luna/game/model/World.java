@@ -2,18 +2,24 @@ package io.luna.game.model;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.luna.Luna;
 import io.luna.LunaContext;
 import io.luna.game.model.chunk.ChunkManager;
 import io.luna.game.model.item.GroundItemList;
 import io.luna.game.model.item.shop.ShopManager;
+import io.luna.game.model.mob.Mob;
 import io.luna.game.model.mob.MobList;
 import io.luna.game.model.mob.Npc;
 import io.luna.game.model.mob.Player;
+import io.luna.game.model.mob.block.AbstractUpdateBlockSet;
+import io.luna.game.model.mob.block.NpcUpdateBlockSet;
+import io.luna.game.model.mob.block.PlayerUpdateBlockSet;
 import io.luna.game.model.object.GameObjectList;
 import io.luna.game.service.GameService;
 import io.luna.game.service.LoginService;
 import io.luna.game.service.LogoutService;
 import io.luna.game.service.PersistenceService;
+import io.luna.game.service.TickProfiler.Phase;
 import io.luna.game.task.Task;
 import io.luna.game.task.TaskManager;
 import io.luna.net.msg.out.NpcUpdateMessageWriter;
@@ -32,6 +38,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Phaser;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
 /**
@@ -64,6 +71,7 @@ public final class World {
         public void run() {
             synchronized (player) {
                 try {
+                    player.getChunkUpdates().flush();
                     player.queue(new PlayerUpdateMessageWriter());
                     player.queue(new NpcUpdateMessageWriter());
                     player.getClient().flush();
@@ -77,6 +85,46 @@ public final class World {
         }
     }
 
+    /**
+     * A model that encodes and caches the local update blocks of a {@link Mob}, so that they are only encoded once
+     * regardless of how many players can see them.
+     */
+    private final class BlockEncodingTask<E extends Mob> implements Runnable {
+
+        /**
+         * The mob.
+         */
+        private final E mob;
+
+        /**
+         * The update block set.
+         */
+        private final AbstractUpdateBlockSet<E> blockSet;
+
+        /**
+         * Creates a new {@link BlockEncodingTask}.
+         *
+         * @param mob The mob.
+         * @param blockSet The update block set.
+         */
+        private BlockEncodingTask(E mob, AbstractUpdateBlockSet<E> blockSet) {
+            this.mob = mob;
+            this.blockSet = blockSet;
+        }
+
+        @Override
+        public void run() {
+            try {
+                blockSet.cacheBlockSet(mob);
+            } catch (Exception e) {
+                logger.warn(new ParameterizedMessage("{} could not encode update blocks.", mob, e));
+                mob.setCachedBlock(null);
+            } finally {
+                barrier.arriveAndDeregister();
+            }
+        }
+    }
+
     /**
      * The asynchronous logger.
      */
@@ -90,12 +138,12 @@ public final class World {
     /**
      * A list of active players.
      */
-    private final MobList<Player> playerList = new MobList<>(this, 2048);
+    private final MobList<Player> playerList = new MobList<>(this, EntityConstants.MAX_PLAYERS);
 
     /**
      * A list of active npc.
      */
-    private final MobList<Npc> npcList = new MobList<>(this, 16384);
+    private final MobList<Npc> npcList = new MobList<>(this, EntityConstants.MAX_NPCS);
 
     /**
      * The login service.
@@ -115,7 +163,7 @@ public final class World {
     /**
      * The chunk manager.
      */
-    private final ChunkManager chunks = new ChunkManager();
+    private final ChunkManager chunks = new ChunkManager(this);
 
     /**
      * The task manager.
@@ -142,11 +190,28 @@ public final class World {
      */
     private final AreaManager areas = new AreaManager(this);
 
+    /**
+     * The player update block set, used to cache local update blocks.
+     */
+    private final PlayerUpdateBlockSet playerBlockSet = new PlayerUpdateBlockSet();
+
+    /**
+     * The NPC update block set, used to cache local update blocks.
+     */
+    private final NpcUpdateBlockSet npcBlockSet = new NpcUpdateBlockSet();
+
     /**
      * A synchronization barrier.
      */
     private final Phaser barrier = new Phaser(1);
 
+    /**
+     * The time a tick can take up to the end of synchronization before viewing distances start shrinking, in
+     * nanoseconds. {@code 0} if disabled.
+     */
+    private final long viewDistanceTickThreshold =
+            TimeUnit.MILLISECONDS.toNanos(Luna.settings().viewDistanceTickThreshold());
+
     /**
      * A thread pool for parallel updating.
      */
@@ -187,6 +252,7 @@ public final class World {
      */
     public void start() {
         items.startExpirationTask();
+        chunks.startEvictionTask();
     }
 
     /**
@@ -217,19 +283,31 @@ public final class World {
      * than the {@link GameService}.
      */
     public void loop() {
+        var profiler = context.getGame().getProfiler();
+        long tickStart = System.nanoTime();
+
         // Add pending players that have just logged in.
         loginService.finishRequests();
+        profiler.mark(Phase.LOGIN);
 
         // Remove pending players that have just logged out.
         logoutService.finishRequests();
+        profiler.mark(Phase.LOGOUT);
 
         // Process all tasks.
         tasks.runTaskIteration();
+        profiler.mark(Phase.TASKS);
 
         // Handle world synchronization.
         preSynchronize();
+        profiler.mark(Phase.PRE_SYNCHRONIZE);
+        encodeBlocks();
+        profiler.mark(Phase.ENCODE_BLOCKS);
         synchronize();
-        postSynchronize();
+        profiler.mark(Phase.SYNCHRONIZE);
+        boolean overloaded = viewDistanceTickThreshold > 0 && System.nanoTime() - tickStart > viewDistanceTickThreshold;
+        postSynchronize(overloaded);
+        profiler.mark(Phase.POST_SYNCHRONIZE);
 
         // Increment tick counter.
         currentTick.incrementAndGet();
@@ -247,7 +325,6 @@ public final class World {
                 }
                 player.getClient().handleDecodedMessages(player);
                 player.getWalking().process();
-                player.getClient().flush();
             } catch (Exception e) {
                 player.logout();
                 logger.warn(new ParameterizedMessage("{} could not complete pre-synchronization.", player, e));
@@ -264,10 +341,31 @@ public final class World {
         }
     }
 
+    /**
+     * Block encoding part of the game loop, encode the local update blocks of every flagged mob in parallel. This
+     * ensures each block set is encoded exactly once, before any synchronization thread reads it.
+     */
+    private void encodeBlocks() {
+        for (Player player : playerList) {
+            if (!player.getFlags().isEmpty()) {
+                barrier.register();
+                service.execute(new BlockEncodingTask<>(player, playerBlockSet));
+            }
+        }
+        for (Npc npc : npcList) {
+            if (!npc.getFlags().isEmpty()) {
+                barrier.register();
+                service.execute(new BlockEncodingTask<>(npc, npcBlockSet));
+            }
+        }
+        barrier.arriveAndAwaitAdvance();
+    }
+
     /**
      * Synchronization part of the game loop, apply the update procedure in parallel.
      */
     private void synchronize() {
+        chunks.dispatchUpdates(playerList);
         barrier.bulkRegister(playerList.size());
         for (Player player : playerList) {
             service.execute(new PlayerSynchronizationTask(player));
@@ -276,13 +374,15 @@ public final class World {
     }
 
     /**
-     * Post-synchronization part of the game loop, reset variables.
+     * Post-synchronization part of the game loop, reset variables and adjust viewing distances.
+     *
+     * @param overloaded If this tick ran over the viewing distance time threshold.
      */
-    private void postSynchronize() {
+    private void postSynchronize(boolean overloaded) {
         for (Player player : playerList) {
             try {
                 player.resetFlags();
-                player.setCachedBlock(null);
+                player.updateViewingDistance(overloaded);
             } catch (Exception e) {
                 player.logout();
                 logger.warn(player + " could not complete post-synchronization.", e);
@@ -419,6 +519,13 @@ public final class World {
         return currentTick.get();
     }
 
+    /**
+     * @return The amount of ticks the game thread is currently behind by. Can be used to shed optional work.
+     */
+    public int getTicksBehind() {
+        return context.getGame().getTicksBehind();
+    }
+
     /**
      * @return The map of online players. Can be accessed safely from any thread.
      */
@@ -3,11 +3,15 @@ package io.luna.game.model.chunk;
 import io.luna.game.model.Entity;
 import io.luna.game.model.EntityType;
 import io.luna.game.model.Position;
+import io.luna.net.msg.GameMessageWriter;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.Set;
+import java.util.List;
 import java.util.stream.Stream;
 
+import static com.google.common.base.Preconditions.checkState;
+
 /**
  * A model containing entities and updates for those entities within a chunk.
  *
@@ -25,6 +29,31 @@ public final class Chunk {
      */
     private final ChunkRepository repository = new ChunkRepository();
 
+    /**
+     * The last tick an entity was added to, removed from, or moved within this chunk.
+     */
+    private long lastModified = -1;
+
+    /**
+     * The last tick an object or ground item was added to, removed from, or updated within this chunk.
+     */
+    private long lastStationaryModified = -1;
+
+    /**
+     * The amount of references held to this chunk's entity sets, outside of the chunk itself.
+     */
+    private int references;
+
+    /**
+     * The stationary entity updates logged during the current tick. Initialized lazily, most chunks never have any.
+     */
+    private List<GameMessageWriter> updates;
+
+    /**
+     * The players subscribed to this chunk.
+     */
+    private final List<ChunkSubscriptions> subscribers = new ArrayList<>(0);
+
     /**
      * Creates a new {@link ChunkPosition}.
      *
@@ -65,10 +94,117 @@ public final class Chunk {
         repository.remove(entity);
     }
 
+    /**
+     * Forwards to {@link ChunkRepository#isEmpty()}.
+     */
+    public boolean isEmpty() {
+        return repository.isEmpty();
+    }
+
+    /**
+     * Flags that a reference to this chunk's entity sets is being held, which prevents this chunk from being evicted
+     * while it's empty. Every call must be followed by a call to {@link #release()}.
+     */
+    public void retain() {
+        references++;
+    }
+
+    /**
+     * Flags that a reference obtained through {@link #retain()} is no longer being held.
+     */
+    public void release() {
+        checkState(references > 0, "Chunk has no references to release.");
+        references--;
+    }
+
+    /**
+     * @return {@code true} if a reference to this chunk's entity sets is being held.
+     */
+    public boolean isReferenced() {
+        return references > 0;
+    }
+
+    /**
+     * Notifies every subscriber that a mob of {@code type} entered, left, or moved within this chunk.
+     *
+     * @param type The mob type.
+     * @param tick The current tick.
+     */
+    public void notifySubscribers(EntityType type, long tick) {
+        for (int index = 0; index < subscribers.size(); index++) {
+            subscribers.get(index).notify(type, tick);
+        }
+    }
+
+    /**
+     * Adds a subscriber to this chunk.
+     *
+     * @param subscriber The subscriber.
+     */
+    void addSubscriber(ChunkSubscriptions subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Removes a subscriber from this chunk, moving the last subscriber into its place.
+     *
+     * @param subscriber The subscriber.
+     */
+    void removeSubscriber(ChunkSubscriptions subscriber) {
+        int index = subscribers.indexOf(subscriber);
+        if (index != -1) {
+            int last = subscribers.size() - 1;
+            subscribers.set(index, subscribers.get(last));
+            subscribers.remove(last);
+        }
+    }
+
+    /**
+     * @return The players subscribed to this chunk. Should not be modified.
+     */
+    List<ChunkSubscriptions> getSubscribers() {
+        return subscribers;
+    }
+
+    /**
+     * Logs an update to be sent to every player that can see this chunk, during synchronization.
+     *
+     * @param update The update.
+     */
+    void logUpdate(GameMessageWriter update) {
+        if (updates == null) {
+            updates = new ArrayList<>(4);
+        }
+        updates.add(update);
+    }
+
+    /**
+     * @return The updates logged during the current tick.
+     */
+    List<GameMessageWriter> getUpdates() {
+        return updates;
+    }
+
+    /**
+     * @return {@code true} if updates have been logged during the current tick.
+     */
+    boolean hasUpdates() {
+        return updates != null && !updates.isEmpty();
+    }
+
+    /**
+     * Clears all logged updates, once they've been sent.
+     */
+    void clearUpdates() {
+        if (updates != null) {
+            updates.clear();
+        }
+    }
+
     /**
      * Forwards to {@link ChunkRepository#setOf(EntityType)}.
      */
-    public <E extends Entity> Set<E> getAll(EntityType type) {
+    public <E extends Entity> ChunkOccupants<E> getAll(EntityType type) {
         return repository.setOf(type);
     }
 
@@ -94,6 +230,38 @@ public final class Chunk {
         return (Iterator<E>) getAll(type).iterator();
     }
 
+    /**
+     * @return The last tick an entity was added to, removed from, or moved within this chunk.
+     */
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Sets the last tick an entity was added to, removed from, or moved within this chunk.
+     *
+     * @param lastModified The value to set to.
+     */
+    public void setLastModified(long lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * @return The last tick an object or ground item was added to, removed from, or updated within this chunk.
+     */
+    public long getLastStationaryModified() {
+        return lastStationaryModified;
+    }
+
+    /**
+     * Sets the last tick an object or ground item was added to, removed from, or updated within this chunk.
+     *
+     * @param lastStationaryModified The value to set to.
+     */
+    public void setLastStationaryModified(long lastStationaryModified) {
+        this.lastStationaryModified = lastStationaryModified;
+    }
+
     /**
      * @return The position.
      */
@@ -105,6 +273,6 @@ public final class Chunk {
      * @return This chunk's absolute position.
      */
     public Position getAbsolutePosition() {
-        return new Position(position.getAbsX(), position.getAbsY());
+        return new Position(position.getAbsX(), position.getAbsY(), position.getZ());
     }
 }
\ No newline at end of file
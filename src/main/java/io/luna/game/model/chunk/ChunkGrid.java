@@ -0,0 +1,232 @@
+package io.luna.game.model.chunk;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A dense, paged grid of loaded chunks addressed by chunk coordinates and plane. Every plane of the map is split into
+ * pages of {@code 8x8} chunks that are only allocated once a chunk within them is loaded, so lookups are two array
+ * loads with no hashing or allocation.
+ * <p>
+ * This class is <strong>not</strong> thread safe. Chunks should only be loaded on the game thread.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class ChunkGrid implements Iterable<Chunk> {
+
+    /**
+     * An iterator over every loaded chunk.
+     */
+    private final class ChunkGridIterator implements Iterator<Chunk> {
+
+        /**
+         * The current page index.
+         */
+        private int page = -1;
+
+        /**
+         * The current slot within the page.
+         */
+        private int slot = PAGE_LENGTH;
+
+        /**
+         * The next chunk, or {@code null} if there are no chunks left.
+         */
+        private Chunk next;
+
+        /**
+         * Creates a new {@link ChunkGridIterator}.
+         */
+        private ChunkGridIterator() {
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Chunk next() {
+            if (next == null) {
+                throw new NoSuchElementException("No elements left.");
+            }
+            Chunk chunk = next;
+            advance();
+            return chunk;
+        }
+
+        /**
+         * Advances to the next loaded chunk.
+         */
+        private void advance() {
+            next = null;
+            while (true) {
+                if (++slot >= PAGE_LENGTH) {
+                    do {
+                        if (++page >= pages.length) {
+                            return;
+                        }
+                    } while (pages[page] == null);
+                    slot = 0;
+                }
+                Chunk chunk = pages[page][slot];
+                if (chunk != null) {
+                    next = chunk;
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * The offset applied to chunk coordinates, so that the smallest possible coordinate maps to {@code 0}.
+     */
+    private static final int OFFSET = 6;
+
+    /**
+     * The amount of chunks along each axis, enough to cover every tile coordinate the client can address.
+     */
+    static final int LENGTH = 2048;
+
+    /**
+     * The amount of planes.
+     */
+    private static final int PLANES = 4;
+
+    /**
+     * The amount of bits used to address a chunk within a page, along each axis.
+     */
+    private static final int PAGE_BITS = 3;
+
+    /**
+     * The amount of chunks within a page.
+     */
+    private static final int PAGE_LENGTH = 1 << (PAGE_BITS * 2);
+
+    /**
+     * The amount of pages along each axis.
+     */
+    private static final int PAGES = LENGTH >> PAGE_BITS;
+
+    /**
+     * The pages, indexed by plane and page coordinates.
+     */
+    private final Chunk[][] pages = new Chunk[PLANES * PAGES * PAGES][];
+
+    /**
+     * The amount of loaded chunks.
+     */
+    private int size;
+
+    @Override
+    public Iterator<Chunk> iterator() {
+        return new ChunkGridIterator();
+    }
+
+    /**
+     * Determines if a chunk at {@code x, y, z} can be stored in this grid.
+     *
+     * @param x The chunk x coordinate.
+     * @param y The chunk y coordinate.
+     * @param z The plane.
+     * @return {@code true} if the coordinates are within bounds.
+     */
+    static boolean inBounds(int x, int y, int z) {
+        return (x + OFFSET & ~(LENGTH - 1)) == 0 && (y + OFFSET & ~(LENGTH - 1)) == 0 && (z & ~(PLANES - 1)) == 0;
+    }
+
+    /**
+     * Retrieves the chunk at {@code x, y, z}.
+     *
+     * @param x The chunk x coordinate.
+     * @param y The chunk y coordinate.
+     * @param z The plane.
+     * @return The chunk, or {@code null} if it isn't loaded or out of bounds.
+     */
+    Chunk get(int x, int y, int z) {
+        if (!inBounds(x, y, z)) {
+            return null;
+        }
+        Chunk[] page = pages[pageIndex(x, y, z)];
+        return page == null ? null : page[slotIndex(x, y)];
+    }
+
+    /**
+     * Stores {@code chunk} at the coordinates of its position, allocating a page if needed.
+     *
+     * @param chunk The chunk.
+     * @throws IllegalArgumentException If the chunk is out of bounds, or its coordinates are already occupied.
+     */
+    void put(Chunk chunk) {
+        int x = chunk.getPosition().getX();
+        int y = chunk.getPosition().getY();
+        int z = chunk.getPosition().getZ();
+        checkArgument(inBounds(x, y, z), "Chunk position out of bounds.");
+
+        int pageIndex = pageIndex(x, y, z);
+        Chunk[] page = pages[pageIndex];
+        if (page == null) {
+            page = new Chunk[PAGE_LENGTH];
+            pages[pageIndex] = page;
+        }
+        int slotIndex = slotIndex(x, y);
+        checkArgument(page[slotIndex] == null, "Chunk already loaded.");
+        page[slotIndex] = chunk;
+        size++;
+    }
+
+    /**
+     * Removes {@code chunk} from this grid, freeing its page if it was the last chunk within it.
+     *
+     * @param chunk The chunk.
+     * @return {@code true} if the chunk was removed.
+     */
+    boolean remove(Chunk chunk) {
+        int x = chunk.getPosition().getX();
+        int y = chunk.getPosition().getY();
+        int z = chunk.getPosition().getZ();
+        if (!inBounds(x, y, z)) {
+            return false;
+        }
+        int pageIndex = pageIndex(x, y, z);
+        Chunk[] page = pages[pageIndex];
+        int slotIndex = slotIndex(x, y);
+        if (page == null || page[slotIndex] != chunk) {
+            return false;
+        }
+        page[slotIndex] = null;
+        size--;
+        for (Chunk other : page) {
+            if (other != null) {
+                return true;
+            }
+        }
+        pages[pageIndex] = null;
+        return true;
+    }
+
+    /**
+     * Computes the page index of {@code x, y, z}.
+     */
+    private static int pageIndex(int x, int y, int z) {
+        return (z * PAGES + (x + OFFSET >> PAGE_BITS)) * PAGES + (y + OFFSET >> PAGE_BITS);
+    }
+
+    /**
+     * Computes the slot index of {@code x, y} within its page.
+     */
+    private static int slotIndex(int x, int y) {
+        int mask = (1 << PAGE_BITS) - 1;
+        return (x + OFFSET & mask) << PAGE_BITS | (y + OFFSET & mask);
+    }
+
+    /**
+     * @return The amount of loaded chunks.
+     */
+    int size() {
+        return size;
+    }
+}
@@ -1,25 +1,41 @@
 package io.luna.game.model.chunk;
 
 import io.luna.game.model.Entity;
+import io.luna.game.model.EntityState;
 import io.luna.game.model.EntityType;
 import io.luna.game.model.Position;
+import io.luna.game.model.StationaryEntity;
+import io.luna.game.model.StationaryEntity.UpdateType;
+import io.luna.game.model.World;
+import io.luna.game.model.item.GroundItem;
+import io.luna.game.model.mob.LocalMobList;
 import io.luna.game.model.mob.Mob;
+import io.luna.game.model.mob.MobList;
 import io.luna.game.model.mob.Npc;
 import io.luna.game.model.mob.Player;
+import io.luna.game.model.object.GameObject;
+import io.luna.game.task.Task;
+import io.luna.net.msg.GameMessageWriter;
+import io.luna.net.msg.out.ClearChunkMessageWriter;
+import io.luna.net.msg.out.GroupedChunkUpdateMessageWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.Spliterator;
 import java.util.Spliterators;
-import java.util.TreeSet;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import static com.google.common.base.Preconditions.checkState;
+import static org.apache.logging.log4j.util.Unbox.box;
+
 /**
  * A model that loads new chunks and manages loaded chunks.
  *
@@ -28,9 +44,37 @@ import java.util.stream.StreamSupport;
 public final class ChunkManager implements Iterable<Chunk> {
 
     /**
-     * Determines the local player count at which prioritized updating will start.
+     * A {@link Task} that evicts chunks that are no longer in use.
      */
-    public static final int LOCAL_MOB_THRESHOLD = 50;
+    private final class EvictionTask extends Task {
+
+        /**
+         * Creates a new {@link EvictionTask}.
+         */
+        private EvictionTask() {
+            super(false, EVICTION_DELAY);
+        }
+
+        @Override
+        protected boolean onSchedule() {
+            checkState(!evicting, "The eviction task has already been started.");
+            evicting = true;
+            return true;
+        }
+
+        @Override
+        protected void execute() {
+            int evicted = evict(world.getCurrentTick() - EVICTION_DELAY);
+            if (evicted > 0) {
+                logger.debug("Evicted {} chunk(s), {} chunk(s) still loaded.", box(evicted), box(chunks.size()));
+            }
+        }
+    }
+
+    /**
+     * The asynchronous logger.
+     */
+    private static final Logger logger = LogManager.getLogger();
 
     /**
      * How many layers of chunks will be loaded around a player, when looking for viewable mobs.
@@ -38,18 +82,47 @@ public final class ChunkManager implements Iterable<Chunk> {
     public static final int RADIUS = 2;
 
     /**
-     * A map of loaded chunks.
+     * The amount of ticks a chunk must be unused for before it's evicted, and the interval between eviction sweeps.
+     */
+    private static final int EVICTION_DELAY = 100;
+
+    /**
+     * The world.
+     */
+    private final World world;
+
+    /**
+     * A grid of loaded chunks.
+     */
+    private final ChunkGrid chunks = new ChunkGrid();
+
+    /**
+     * If the eviction task has been started.
+     */
+    private boolean evicting;
+
+    /**
+     * The chunks with updates logged during the current tick.
      */
-    private final Map<ChunkPosition, Chunk> chunks = new HashMap<>(128); // TODO Proper initial size after cache loading.
+    private final List<Chunk> dirtyChunks = new ArrayList<>();
+
+    /**
+     * Creates a new {@link ChunkManager}.
+     *
+     * @param world The world.
+     */
+    public ChunkManager(World world) {
+        this.world = world;
+    }
 
     @Override
     public Spliterator<Chunk> spliterator() {
-        return Spliterators.spliterator(chunks.values(), Spliterator.NONNULL);
+        return Spliterators.spliterator(iterator(), chunks.size(), Spliterator.NONNULL);
     }
 
     @Override
     public Iterator<Chunk> iterator() {
-        return chunks.values().iterator();
+        return chunks.iterator();
     }
 
     /**
@@ -59,7 +132,65 @@ public final class ChunkManager implements Iterable<Chunk> {
      * @return The existing or newly loaded chunk.
      */
     public Chunk load(ChunkPosition position) {
-        return chunks.computeIfAbsent(position, Chunk::new);
+        Chunk chunk = chunks.get(position.getX(), position.getY(), position.getZ());
+        if (chunk == null) {
+            chunk = new Chunk(position);
+            chunks.put(chunk);
+        }
+        return chunk;
+    }
+
+    /**
+     * Retrieves a loaded chunk based on the argued chunk position. Unlike {@link #load(ChunkPosition)}, a new chunk
+     * is never constructed.
+     *
+     * @param position The chunk position.
+     * @return The loaded chunk, or no chunk.
+     */
+    public Optional<Chunk> get(ChunkPosition position) {
+        return Optional.ofNullable(chunks.get(position.getX(), position.getY(), position.getZ()));
+    }
+
+    /**
+     * Retrieves a loaded chunk based on the argued position. Unlike {@link #load(Position)}, a new chunk is never
+     * constructed.
+     *
+     * @param position The position.
+     * @return The loaded chunk, or no chunk.
+     */
+    public Optional<Chunk> get(Position position) {
+        return get(position.getChunkPosition());
+    }
+
+    /**
+     * Returns a stream over {@code type} entities in the chunk of {@code position}, without loading it.
+     *
+     * @param position The position.
+     * @param type The entity type.
+     * @param <E> The type.
+     * @return The stream.
+     */
+    public <E extends Entity> Stream<E> stream(Position position, EntityType type) {
+        ChunkPosition chunkPos = position.getChunkPosition();
+        Chunk chunk = chunks.get(chunkPos.getX(), chunkPos.getY(), chunkPos.getZ());
+        return chunk == null ? Stream.empty() : chunk.stream(type);
+    }
+
+    /**
+     * Retrieves a chunk based on the argued chunk coordinates, constructing and loading a new one if needed.
+     *
+     * @param x The chunk x coordinate.
+     * @param y The chunk y coordinate.
+     * @param z The plane.
+     * @return The existing or newly loaded chunk.
+     */
+    private Chunk load(int x, int y, int z) {
+        Chunk chunk = chunks.get(x, y, z);
+        if (chunk == null) {
+            chunk = new Chunk(new ChunkPosition(x, y, z));
+            chunks.put(chunk);
+        }
+        return chunk;
     }
 
     /**
@@ -73,49 +204,50 @@ public final class ChunkManager implements Iterable<Chunk> {
     }
 
     /**
-     * Shortcut to {@link #getUpdateMobs(Player, EntityType)} for type {@code PLAYER}.
+     * Shortcut to {@link #getUpdateMobs(Player, EntityType, LocalMobList, MobList, int)} for type {@code PLAYER}.
      */
-    public Set<Player> getUpdatePlayers(Player player) {
-        return getUpdateMobs(player, EntityType.PLAYER);
+    public List<Player> getUpdatePlayers(Player player, int limit) {
+        return getUpdateMobs(player, EntityType.PLAYER, player.getLocalPlayers(), player.getWorld().getPlayers(), limit);
     }
 
     /**
-     * Shortcut to {@link #getUpdateMobs(Player, EntityType)} for type {@code NPC}.
+     * Shortcut to {@link #getUpdateMobs(Player, EntityType, LocalMobList, MobList, int)} for type {@code NPC}.
      */
-    public Set<Npc> getUpdateNpcs(Player player) {
-        return getUpdateMobs(player, EntityType.NPC);
+    public List<Npc> getUpdateNpcs(Player player, int limit) {
+        return getUpdateMobs(player, EntityType.NPC, player.getLocalNpcs(), player.getWorld().getNpcs(), limit);
     }
 
     /**
-     * Returns an update set for {@code type}, potentially sorted by the {@link ChunkMobComparator}.
+     * Selects up to {@code limit} viewable mobs of {@code type} that should be added to the local list of
+     * {@code player}, using a {@link ChunkMobSelector}. Only the chunks {@code player} is subscribed to are searched,
+     * and mobs that are already local are never selected.
      *
      * @param player The player.
      * @param type The entity type.
+     * @param localMobs The local mobs of {@code player}.
+     * @param mobList The list to resolve mobs from.
+     * @param limit The maximum amount of mobs to select.
      * @param <T> The type.
-     * @return The update set.
+     * @return The selected mobs, ordered from most to least important.
      */
-    private <T extends Mob> Set<T> getUpdateMobs(Player player, EntityType type) {
-        Set<T> updateSet;
-        if (player.getLocalPlayers().size() > LOCAL_MOB_THRESHOLD && type == EntityType.PLAYER ||
-                player.getLocalNpcs().size() > LOCAL_MOB_THRESHOLD && type == EntityType.NPC) {
-            updateSet = new TreeSet<>(new ChunkMobComparator(player));
-        } else {
-            updateSet = new HashSet<>();
+    private <T extends Mob> List<T> getUpdateMobs(Player player, EntityType type,
+                                                  LocalMobList<T> localMobs, MobList<T> mobList, int limit) {
+        if (limit <= 0) {
+            return List.of();
         }
-
-        var chunkPosition = player.getChunkPosition();
-        for (int x = -RADIUS; x < RADIUS; x++) {
-            for (int y = -RADIUS; y < RADIUS; y++) {
-                var currentChunk = load(chunkPosition.translate(x, y));
-                Set<T> mobs = currentChunk.getAll(type);
-                for (T inside : mobs) {
-                    if (inside.isViewableFrom(player)) {
-                        updateSet.add(inside);
-                    }
+        var selector = new ChunkMobSelector(player, limit);
+        var subscriptions = player.getSubscriptions();
+        for (int chunkIndex = 0; chunkIndex < subscriptions.size(); chunkIndex++) {
+            ChunkOccupants<T> mobs = subscriptions.get(chunkIndex).getAll(type);
+            for (int index = 0; index < mobs.size(); index++) {
+                T inside = mobs.get(index);
+                if (inside != player && inside.getState() == EntityState.ACTIVE &&
+                        player.canView(inside) && !localMobs.contains(inside)) {
+                    selector.offer(inside);
                 }
             }
         }
-        return updateSet;
+        return selector.drain(mobList);
     }
 
     /**
@@ -129,11 +261,18 @@ public final class ChunkManager implements Iterable<Chunk> {
     public <T extends Entity> Set<T> getViewableEntities(Position position, EntityType type) {
         Set<T> viewable = new HashSet<>();
         ChunkPosition chunkPos = position.getChunkPosition();
-        for (int x = -RADIUS; x < RADIUS; x++) {
-            for (int y = -RADIUS; y < RADIUS; y++) {
-                Chunk chunk = load(chunkPos.translate(x, y));
-                Set<T> entities = chunk.getAll(type);
-                for (T inside : entities) {
+        int baseX = chunkPos.getX();
+        int baseY = chunkPos.getY();
+        int z = chunkPos.getZ();
+        for (int x = baseX - RADIUS; x < baseX + RADIUS; x++) {
+            for (int y = baseY - RADIUS; y < baseY + RADIUS; y++) {
+                Chunk chunk = chunks.get(x, y, z);
+                if (chunk == null) {
+                    continue;
+                }
+                ChunkOccupants<T> entities = chunk.getAll(type);
+                for (int index = 0; index < entities.size(); index++) {
+                    T inside = entities.get(index);
                     if (inside.getPosition().isViewable(position)) {
                         viewable.add(inside);
                     }
@@ -144,21 +283,243 @@ public final class ChunkManager implements Iterable<Chunk> {
     }
 
     /**
-     * Returns a list of viewable chunks.
+     * Subscribes {@code player} to every chunk within {@link #RADIUS} of the chunk they're standing in, unsubscribing
+     * them from chunks that are no longer in range. Does nothing if they haven't moved into a new chunk since the last
+     * call. Subscribed chunks are retained, so they won't be evicted.
      *
-     * @param position The relative position.
-     * @return The list.
+     * @param player The player.
      */
-    public List<Chunk> getViewableChunks(Position position) {
-        List<Chunk> viewable = new ArrayList<>(16);
-        ChunkPosition chunkPos = position.getChunkPosition();
+    public void subscribe(Player player) {
+        ChunkSubscriptions subscriptions = player.getSubscriptions();
+        ChunkPosition oldCenter = subscriptions.getCenter();
+        ChunkPosition newCenter = player.getChunkPosition();
+        if (newCenter.equals(oldCenter)) {
+            return;
+        }
+
+        // Unsubscribe from chunks that are out of range.
+        for (Chunk chunk : subscriptions.getChunks()) {
+            if (!ChunkSubscriptions.covers(newCenter, chunk.getPosition())) {
+                chunk.removeSubscriber(subscriptions);
+                chunk.release();
+            }
+        }
+
+        // Subscribe to chunks that came into range.
+        Chunk[] newChunks = new Chunk[ChunkSubscriptions.CAPACITY];
+        int size = 0;
+        int z = newCenter.getZ();
+        for (int x = newCenter.getX() - RADIUS; x <= newCenter.getX() + RADIUS; x++) {
+            for (int y = newCenter.getY() - RADIUS; y <= newCenter.getY() + RADIUS; y++) {
+                if (!ChunkGrid.inBounds(x, y, z)) {
+                    continue;
+                }
+                Chunk chunk = load(x, y, z);
+                if (!ChunkSubscriptions.covers(oldCenter, chunk.getPosition())) {
+                    chunk.addSubscriber(subscriptions);
+                    chunk.retain();
+                }
+                newChunks[size++] = chunk;
+            }
+        }
+        subscriptions.set(size == newChunks.length ? newChunks : Arrays.copyOf(newChunks, size), newCenter);
+
+        // Everything in the new chunks is unseen, so the surroundings need to be searched again.
+        long tick = world.getCurrentTick();
+        subscriptions.notify(EntityType.PLAYER, tick);
+        subscriptions.notify(EntityType.NPC, tick);
+    }
+
+    /**
+     * Unsubscribes {@code player} from every chunk.
+     *
+     * @param player The player.
+     */
+    public void unsubscribe(Player player) {
+        ChunkSubscriptions subscriptions = player.getSubscriptions();
+        for (Chunk chunk : subscriptions.getChunks()) {
+            chunk.removeSubscriber(subscriptions);
+            chunk.release();
+        }
+        subscriptions.set(new Chunk[0], null);
+    }
+
+    /**
+     * Logs an update for the chunk at {@code position}, to be sent to every player that can see it on the next call
+     * to {@link #dispatchUpdates(Iterable)}.
+     *
+     * @param position The chunk position.
+     * @param update The chunk-relative update.
+     */
+    public void logUpdate(ChunkPosition position, GameMessageWriter update) {
+        Chunk chunk = load(position);
+        if (!chunk.hasUpdates()) {
+            dirtyChunks.add(chunk);
+        }
+        chunk.logUpdate(update);
+        chunk.setLastModified(world.getCurrentTick());
+        chunk.setLastStationaryModified(world.getCurrentTick());
+    }
+
+    /**
+     * Queues a refresh for every loaded chunk within {@link #RADIUS} of {@code player} that their client doesn't have
+     * an up to date copy of. The client discards every ground item when it loads a new region, so chunks with ground
+     * items are always refreshed after a region change.
+     *
+     * @param player The player.
+     * @param regionChanged If the client loaded a new region.
+     */
+    public void queueRefreshes(Player player, boolean regionChanged) {
+        ChunkViewTracker sentChunks = player.getSentChunks();
+        ChunkPosition position = player.getChunkPosition();
         for (int x = -RADIUS; x < RADIUS; x++) {
             for (int y = -RADIUS; y < RADIUS; y++) {
-                Chunk chunk = load(chunkPos.translate(x, y));
-                viewable.add(chunk);
+                Optional<Chunk> loadedChunk = get(position.translate(x, y));
+                if (loadedChunk.isEmpty()) {
+                    continue;
+                }
+                Chunk chunk = loadedChunk.get();
+                if (!sentChunks.isCurrent(chunk) || regionChanged && !chunk.getAll(EntityType.ITEM).isEmpty()) {
+                    sentChunks.queueRefresh(chunk.getPosition());
+                }
             }
         }
-        return viewable;
+    }
+
+    /**
+     * Sends the updates logged during this tick to the players that can see each chunk, then performs the chunk
+     * refreshes queued by {@code players}. Updates for a chunk are encoded once and shared by every recipient. Must be
+     * called on the game thread, before synchronization.
+     * <p>
+     * Refreshes queued by teleporting players are held until the next tick, as their client only moves onto the new
+     * plane once it reads the player update.
+     *
+     * @param players The players to perform queued refreshes for.
+     */
+    public void dispatchUpdates(Iterable<Player> players) {
+        for (Chunk chunk : dirtyChunks) {
+            broadcastUpdates(chunk);
+            chunk.clearUpdates();
+        }
+        dirtyChunks.clear();
+
+        long tick = world.getCurrentTick();
+        for (Player player : players) {
+            ChunkViewTracker tracker = player.getSentChunks();
+            Set<ChunkPosition> refreshes = tracker.getRefreshes();
+            if (refreshes.isEmpty() || player.isTeleporting()) {
+                continue;
+            }
+            for (ChunkPosition position : refreshes) {
+                if (position.isWithinRegion(player.getLastRegion())) {
+                    refresh(player, position);
+                    // The client now has every modification made up to the end of this tick.
+                    tracker.markSent(position, tick + 1);
+                }
+            }
+            refreshes.clear();
+        }
+    }
+
+    /**
+     * Sends the updates logged for {@code chunk} to every player subscribed to it, other than players that are about
+     * to refresh it.
+     *
+     * @param chunk The chunk.
+     */
+    private void broadcastUpdates(Chunk chunk) {
+        ChunkPosition position = chunk.getPosition();
+        List<ChunkSubscriptions> subscribers = chunk.getSubscribers();
+        byte[] encoded = null;
+        for (int index = 0; index < subscribers.size(); index++) {
+            Player player = subscribers.get(index).getPlayer();
+            Position region = player.getLastRegion();
+            if (region == null || !position.isWithinRegion(region) ||
+                    player.getSentChunks().isRefreshQueued(position)) {
+                continue;
+            }
+            if (encoded == null) {
+                encoded = GroupedChunkUpdateMessageWriter.encode(chunk.getUpdates(), player);
+            }
+            player.getChunkUpdates().addEncoded(position, encoded);
+        }
+    }
+
+    /**
+     * Clears the chunk at {@code position} for {@code player}, and shows them every entity within it again.
+     *
+     * @param player The player.
+     * @param position The chunk position.
+     */
+    private void refresh(Player player, ChunkPosition position) {
+        Chunk chunk = chunks.get(position.getX(), position.getY(), position.getZ());
+        if (chunk == null) {
+            return;
+        }
+        ChunkOccupants<GameObject> objects = chunk.getAll(EntityType.OBJECT);
+        ChunkOccupants<GroundItem> items = chunk.getAll(EntityType.ITEM);
+        if (objects.isEmpty() && items.isEmpty()) {
+            return;
+        }
+
+        // Pending updates would be applied on top of the repopulated chunk, so drop them.
+        player.getChunkUpdates().discard(position);
+        player.queue(new ClearChunkMessageWriter(chunk.getAbsolutePosition()));
+        for (int index = 0; index < objects.size(); index++) {
+            GameObject object = objects.get(index);
+            if (object.isDynamic()) {
+                showEntity(player, object);
+            }
+        }
+        for (int index = 0; index < items.size(); index++) {
+            showEntity(player, items.get(index));
+        }
+    }
+
+    /**
+     * Shows a single entity to {@code player}, if necessary.
+     *
+     * @param player The player to show to.
+     * @param entity The entity to show.
+     */
+    private void showEntity(Player player, StationaryEntity entity) {
+        Player owner = entity.getOwnerInstance();
+        if (owner == null || owner.equals(player)) {
+            entity.sendUpdateMessage(player, UpdateType.SHOW);
+        }
+    }
+
+    /**
+     * Starts the task that periodically evicts chunks that are no longer in use.
+     */
+    public void startEvictionTask() {
+        world.schedule(new EvictionTask());
+    }
+
+    /**
+     * Evicts every chunk that is empty, unreferenced, and hasn't been modified since {@code tick}.
+     *
+     * @param tick The tick.
+     * @return The amount of evicted chunks.
+     */
+    public int evict(long tick) {
+        List<Chunk> evictable = new ArrayList<>();
+        for (Chunk chunk : chunks) {
+            if (chunk.getLastModified() < tick && !chunk.isReferenced() && chunk.isEmpty()) {
+                evictable.add(chunk);
+            }
+        }
+        for (Chunk chunk : evictable) {
+            chunks.remove(chunk);
+        }
+        return evictable.size();
+    }
+
+    /**
+     * @return The amount of loaded chunks.
+     */
+    public int size() {
+        return chunks.size();
     }
 
     /**
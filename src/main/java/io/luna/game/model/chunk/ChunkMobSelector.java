@@ -0,0 +1,154 @@
+package io.luna.game.model.chunk;
+
+import io.luna.game.model.EntityType;
+import io.luna.game.model.mob.Mob;
+import io.luna.game.model.mob.MobList;
+import io.luna.game.model.mob.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A model that selects the most important mobs to be added to the local list of a player. Candidates are streamed
+ * into a fixed-size heap of precomputed priority scores, so only the best {@code limit} candidates are ever retained.
+ * <p>
+ * Mobs are prioritized by, in order of importance: being on the player's friend list, distance from the player, size,
+ * and combat level.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class ChunkMobSelector {
+
+    /**
+     * The player to select mobs for.
+     */
+    private final Player player;
+
+    /**
+     * The heap of candidates. Each entry is the priority score in the upper 32 bits, and the mob index in the lower
+     * 32 bits.
+     */
+    private final long[] heap;
+
+    /**
+     * The amount of candidates in the heap.
+     */
+    private int size;
+
+    /**
+     * Creates a new {@link ChunkMobSelector}.
+     *
+     * @param player The player to select mobs for.
+     * @param limit The maximum amount of mobs to select.
+     */
+    public ChunkMobSelector(Player player, int limit) {
+        this.player = player;
+        heap = new long[Math.max(limit, 0)];
+    }
+
+    /**
+     * Offers {@code mob} as a candidate. It will be retained if it's more important than the least important
+     * candidate.
+     *
+     * @param mob The mob.
+     */
+    public void offer(Mob mob) {
+        if (heap.length == 0) {
+            return;
+        }
+        long key = (long) computeScore(mob) << 32 | mob.getIndex();
+        if (size < heap.length) {
+            heap[size] = key;
+            siftUp(size++);
+        } else if (key > heap[0]) {
+            heap[0] = key;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Drains the selected candidates into a list, ordered from most to least important.
+     *
+     * @param mobs The list to resolve mob indexes with.
+     * @param <T> The mob type.
+     * @return The selected mobs.
+     */
+    public <T extends Mob> List<T> drain(MobList<T> mobs) {
+        Arrays.sort(heap, 0, size);
+        List<T> selected = new ArrayList<>(size);
+        for (int index = size - 1; index >= 0; index--) {
+            T mob = mobs.get((int) heap[index]);
+            if (mob != null) {
+                selected.add(mob);
+            }
+        }
+        size = 0;
+        return selected;
+    }
+
+    /**
+     * Computes the priority score of {@code mob}. Higher scores are more important.
+     *
+     * @param mob The mob.
+     * @return The priority score.
+     */
+    private int computeScore(Mob mob) {
+        int friend = isFriend(mob) ? 1 : 0;
+        int closeness = Math.max(0, player.getViewingDistance() - player.computeLongestDistance(mob));
+        int size = Math.min(mob.size(), 15);
+        int combatLevel = Math.min(mob.getCombatLevel(), 4095);
+        return friend << 24 | closeness << 16 | size << 12 | combatLevel;
+    }
+
+    /**
+     * Determines if {@code mob} is on {@code player}'s friend list.
+     *
+     * @param mob The mob.
+     * @return {@code true} if the mob is on the friend's list.
+     */
+    private boolean isFriend(Mob mob) {
+        if (mob.getType() == EntityType.PLAYER) {
+            long hash = mob.asPlr().getUsernameHash();
+            return player.getFriends().contains(hash);
+        }
+        return false;
+    }
+
+    /**
+     * Moves the entry at {@code index} up the heap until its parent is smaller.
+     */
+    private void siftUp(int index) {
+        long key = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (heap[parent] <= key) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = key;
+    }
+
+    /**
+     * Moves the entry at {@code index} down the heap until its children are larger.
+     */
+    private void siftDown(int index) {
+        long key = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            int right = child + 1;
+            if (right < size && heap[right] < heap[child]) {
+                child = right;
+            }
+            if (key <= heap[child]) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = key;
+    }
+}
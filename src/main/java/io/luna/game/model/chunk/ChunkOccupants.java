@@ -0,0 +1,136 @@
+package io.luna.game.model.chunk;
+
+import io.luna.game.model.Entity;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A live, read-only set of the entities of a single type within a chunk. Entities are stored densely in an array and
+ * remember their own slot, so additions, removals, and lookups are constant time and iteration is a linear scan.
+ * Removals swap the last entity into the removed slot, so iteration order is not stable.
+ * <p>
+ * Hot loops should prefer {@link #size()} and {@link #get(int)} over the iterator. This class is <strong>not</strong>
+ * thread safe, it should only be modified on the game thread.
+ *
+ * @param <E> The type of entities to contain.
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class ChunkOccupants<E extends Entity> extends AbstractSet<E> {
+
+    /**
+     * An iterator over the occupants.
+     */
+    private final class ChunkOccupantsIterator implements Iterator<E> {
+
+        /**
+         * The current index.
+         */
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public E next() {
+            if (index >= size) {
+                throw new NoSuchElementException("No elements left.");
+            }
+            return get(index++);
+        }
+    }
+
+    /**
+     * The initial capacity.
+     */
+    private static final int INITIAL_CAPACITY = 4;
+
+    /**
+     * The occupants.
+     */
+    private Entity[] occupants = new Entity[INITIAL_CAPACITY];
+
+    /**
+     * The amount of occupants.
+     */
+    private int size;
+
+    /**
+     * Package-private constructor to restrict instantiation.
+     */
+    ChunkOccupants() {
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new ChunkOccupantsIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object obj) {
+        if (obj instanceof Entity) {
+            int slot = ((Entity) obj).getChunkSlot();
+            return slot >= 0 && slot < size && occupants[slot] == obj;
+        }
+        return false;
+    }
+
+    /**
+     * Retrieves the occupant at {@code index}.
+     *
+     * @param index The index, from {@code 0} to {@link #size()} exclusive.
+     * @return The occupant.
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        return (E) occupants[index];
+    }
+
+    /**
+     * Adds {@code entity} to the end of this set.
+     *
+     * @param entity The entity to add.
+     * @return {@code true} if the entity was added, {@code false} if it was already present.
+     */
+    boolean addEntity(Entity entity) {
+        if (contains(entity)) {
+            return false;
+        }
+        if (size == occupants.length) {
+            occupants = Arrays.copyOf(occupants, size * 2);
+        }
+        entity.setChunkSlot(size);
+        occupants[size++] = entity;
+        return true;
+    }
+
+    /**
+     * Removes {@code entity} from this set, moving the last occupant into its slot.
+     *
+     * @param entity The entity to remove.
+     * @return {@code true} if the entity was removed, {@code false} if it wasn't present.
+     */
+    boolean removeEntity(Entity entity) {
+        if (!contains(entity)) {
+            return false;
+        }
+        int slot = entity.getChunkSlot();
+        Entity last = occupants[--size];
+        occupants[size] = null;
+        if (last != entity) {
+            occupants[slot] = last;
+            last.setChunkSlot(slot);
+        }
+        entity.setChunkSlot(-1);
+        return true;
+    }
+}
@@ -3,10 +3,8 @@ package io.luna.game.model.chunk;
 import com.google.common.base.MoreObjects;
 import io.luna.game.model.Position;
 
-import java.util.Objects;
-
 /**
- * A model representing the coordinates of a Chunk (8x8 tiles) on the Runescape map.
+ * A model representing the coordinates of a Chunk (8x8 tiles) on a single plane of the Runescape map.
  *
  * @author lare96 <http://github.com/lare96>
  */
@@ -17,6 +15,11 @@ public final class ChunkPosition {
      */
     public static final int SIZE = 8;
 
+    /**
+     * The length of the region loaded by the client, in tiles.
+     */
+    private static final int REGION_LENGTH = 104;
+
     /**
      * The center x coordinate of this region.
      */
@@ -27,13 +30,23 @@ public final class ChunkPosition {
      */
     private final int y;
 
+    /**
+     * The plane.
+     */
+    private final int z;
+
+    /**
+     * The coordinates packed into a single value.
+     */
+    private final int packed;
+
     /**
      * Creates a new {@link ChunkPosition}.
      *
      * @param position The position to get the region coordinates of.
      */
     public ChunkPosition(Position position) {
-        this(position.getBottomLeftChunkX(), position.getBottomLeftChunkY());
+        this(position.getBottomLeftChunkX(), position.getBottomLeftChunkY(), position.getZ());
     }
 
     /**
@@ -41,20 +54,35 @@ public final class ChunkPosition {
      *
      * @param x The center x coordinate of this region.
      * @param y The center y coordinate of this region.
+     * @param z The plane.
      */
-    private ChunkPosition(int x, int y) {
+    ChunkPosition(int x, int y, int z) {
         this.x = x;
         this.y = y;
+        this.z = z;
+        packed = pack(x, y, z);
+    }
+
+    /**
+     * Packs chunk coordinates into a single value.
+     *
+     * @param x The chunk x coordinate.
+     * @param y The chunk y coordinate.
+     * @param z The plane.
+     * @return The packed coordinates.
+     */
+    public static int pack(int x, int y, int z) {
+        return z << 30 | (x & 0x7FFF) << 15 | y & 0x7FFF;
     }
 
     @Override
     public String toString() {
-        return MoreObjects.toStringHelper(this).add("x", x).add("y", y).toString();
+        return MoreObjects.toStringHelper(this).add("x", x).add("y", y).add("z", z).toString();
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(x, y);
+        return packed;
     }
 
     @Override
@@ -64,7 +92,7 @@ public final class ChunkPosition {
         }
         if (obj instanceof ChunkPosition) {
             ChunkPosition other = (ChunkPosition) obj;
-            return x == other.x && y == other.y;
+            return packed == other.packed;
         }
         return false;
     }
@@ -76,10 +104,23 @@ public final class ChunkPosition {
      * @return The offset.
      */
     public int offset(Position position) {
-        // TODO Do it the proper way, through offsets.
         int deltaX = position.getX() - getAbsX();
         int deltaY = position.getY() - getAbsY();
-        return 0;// deltaX << 4 | deltaY;
+        return (deltaX & 7) << 4 | (deltaY & 7);
+    }
+
+    /**
+     * Determines if this chunk is within the region a client loaded around {@code region}.
+     *
+     * @param region The last known region of the client.
+     * @return {@code true} if the chunk is loaded by the client.
+     */
+    public boolean isWithinRegion(Position region) {
+        int localX = getAbsX() - region.getBottomLeftChunkX() * SIZE;
+        int localY = getAbsY() - region.getBottomLeftChunkY() * SIZE;
+        return z == region.getZ() &&
+                localX >= 0 && localX <= REGION_LENGTH - SIZE &&
+                localY >= 0 && localY <= REGION_LENGTH - SIZE;
     }
 
     /**
@@ -93,7 +134,7 @@ public final class ChunkPosition {
         if (addX == 0 && addY == 0) {
             return this;
         }
-        return new ChunkPosition(x + addX, y + addY);
+        return new ChunkPosition(x + addX, y + addY, z);
     }
 
     /**
@@ -143,4 +184,18 @@ public final class ChunkPosition {
     public int getY() {
         return y;
     }
+
+    /**
+     * @return The plane.
+     */
+    public int getZ() {
+        return z;
+    }
+
+    /**
+     * @return The coordinates packed into a single value.
+     */
+    public int getPacked() {
+        return packed;
+    }
 }
\ No newline at end of file
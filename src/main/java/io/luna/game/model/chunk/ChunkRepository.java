@@ -3,11 +3,6 @@ package io.luna.game.model.chunk;
 import io.luna.game.model.Entity;
 import io.luna.game.model.EntityType;
 
-import java.util.EnumMap;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-
 import static com.google.common.base.Preconditions.checkState;
 
 /**
@@ -18,9 +13,9 @@ import static com.google.common.base.Preconditions.checkState;
 public final class ChunkRepository {
 
     /**
-     * The map of entities.
+     * The entities, indexed by type ordinal.
      */
-    private final Map<EntityType, Set<Entity>> entities;
+    private final ChunkOccupants<?>[] entities;
 
     /**
      * Protected constructor to restrict instantiation.
@@ -30,10 +25,10 @@ public final class ChunkRepository {
 
     // TODO Rename this and test file
     {
-        // Use enum map to split up entities by type.
-        entities = new EnumMap<>(EntityType.class);
+        // Use an array indexed by ordinal to split up entities by type.
+        entities = new ChunkOccupants<?>[EntityType.ALL.size()];
         for (EntityType type : EntityType.ALL) {
-            entities.put(type, new HashSet<>(4));
+            entities[type.ordinal()] = new ChunkOccupants<>();
         }
     }
 
@@ -43,8 +38,8 @@ public final class ChunkRepository {
      * @param entity The entity to add.
      */
     public void add(Entity entity) {
-        Set<Entity> entitySet = entities.get(entity.getType());
-        checkState(entitySet.add(entity), "Entity could not be added to chunk.");
+        ChunkOccupants<?> entitySet = entities[entity.getType().ordinal()];
+        checkState(entitySet.addEntity(entity), "Entity could not be added to chunk.");
     }
 
     /**
@@ -53,20 +48,32 @@ public final class ChunkRepository {
      * @param entity The entity to remove.
      */
     public void remove(Entity entity) {
-        Set<Entity> entitySet = entities.get(entity.getType());
-        checkState(entitySet.remove(entity), "Entity could not be removed from chunk.");
+        ChunkOccupants<?> entitySet = entities[entity.getType().ordinal()];
+        checkState(entitySet.removeEntity(entity), "Entity could not be removed from chunk.");
+    }
+
+    /**
+     * @return {@code true} if this chunk contains no entities of any type.
+     */
+    public boolean isEmpty() {
+        for (ChunkOccupants<?> entitySet : entities) {
+            if (!entitySet.isEmpty()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
-     * Returns a {@link Set} containing all entities of the specified type in this chunk. The cast type must match
-     * the argued type or a {@link ClassCastException} will be thrown.
+     * Returns a {@link ChunkOccupants} containing all entities of the specified type in this chunk. The cast type
+     * must match the argued type or a {@link ClassCastException} will be thrown.
      *
      * @param type The type of entities to get.
      * @param <E> The type to cast to. Must be a subclass of Entity.
      * @return A set of entities casted to {@code <E>}. As long as {@code <E>} matches {@code type}, no errors will
      * be thrown.
      */
-    public <E extends Entity> Set<E> setOf(EntityType type) {
-        return (Set<E>) entities.get(type);
+    public <E extends Entity> ChunkOccupants<E> setOf(EntityType type) {
+        return (ChunkOccupants<E>) entities[type.ordinal()];
     }
-}
\ No newline at end of file
+}
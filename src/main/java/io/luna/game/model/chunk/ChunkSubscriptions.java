@@ -0,0 +1,143 @@
+package io.luna.game.model.chunk;
+
+import io.luna.game.model.EntityType;
+import io.luna.game.model.mob.Player;
+
+/**
+ * A model representing the chunks a player is interested in, being every chunk within {@link ChunkManager#RADIUS}
+ * of the chunk they're standing in. Subscribed chunks keep a reverse list of their subscribers, and notify them
+ * whenever a mob enters, leaves, or moves within them, so players never have to poll their surroundings for changes.
+ * <p>
+ * Subscriptions are only changed by {@link ChunkManager#subscribe(Player)} when a player moves into a new chunk.
+ * This class is <strong>not</strong> thread safe, it should only be modified on the game thread.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class ChunkSubscriptions {
+
+    /**
+     * The maximum amount of subscribed chunks.
+     */
+    static final int CAPACITY = (ChunkManager.RADIUS * 2 + 1) * (ChunkManager.RADIUS * 2 + 1);
+
+    /**
+     * The subscribing player.
+     */
+    private final Player player;
+
+    /**
+     * The subscribed chunks.
+     */
+    private Chunk[] chunks = new Chunk[0];
+
+    /**
+     * The chunk the subscriptions are centered on, or {@code null} if there are no subscriptions.
+     */
+    private ChunkPosition center;
+
+    /**
+     * The last tick a player entered, left, or moved within a subscribed chunk.
+     */
+    private long lastPlayerActivity = -1;
+
+    /**
+     * The last tick an npc entered, left, or moved within a subscribed chunk.
+     */
+    private long lastNpcActivity = -1;
+
+    /**
+     * Creates a new {@link ChunkSubscriptions}.
+     *
+     * @param player The subscribing player.
+     */
+    public ChunkSubscriptions(Player player) {
+        this.player = player;
+    }
+
+    /**
+     * Notifies these subscriptions that a mob of {@code type} entered, left, or moved within a subscribed chunk.
+     *
+     * @param type The mob type.
+     * @param tick The current tick.
+     */
+    void notify(EntityType type, long tick) {
+        if (type == EntityType.PLAYER) {
+            lastPlayerActivity = tick;
+        } else if (type == EntityType.NPC) {
+            lastNpcActivity = tick;
+        }
+    }
+
+    /**
+     * Determines if no mob of {@code type} has entered, left, or moved within a subscribed chunk since {@code tick}.
+     *
+     * @param type The mob type.
+     * @param tick The tick.
+     * @return {@code true} if nothing of {@code type} has changed on or after {@code tick}.
+     */
+    public boolean isQuiescent(EntityType type, long tick) {
+        return (type == EntityType.PLAYER ? lastPlayerActivity : lastNpcActivity) < tick;
+    }
+
+    /**
+     * Determines if {@code position} is within {@link ChunkManager#RADIUS} of {@code center}.
+     *
+     * @param center The center chunk, may be {@code null}.
+     * @param position The chunk position.
+     * @return {@code true} if the chunk is covered.
+     */
+    static boolean covers(ChunkPosition center, ChunkPosition position) {
+        return center != null && center.getZ() == position.getZ() &&
+                Math.abs(center.getX() - position.getX()) <= ChunkManager.RADIUS &&
+                Math.abs(center.getY() - position.getY()) <= ChunkManager.RADIUS;
+    }
+
+    /**
+     * Replaces the subscribed chunks.
+     *
+     * @param newChunks The new chunks.
+     * @param newCenter The new center.
+     */
+    void set(Chunk[] newChunks, ChunkPosition newCenter) {
+        chunks = newChunks;
+        center = newCenter;
+    }
+
+    /**
+     * Retrieves the subscribed chunk at {@code index}.
+     *
+     * @param index The index, from {@code 0} to {@link #size()} exclusive.
+     * @return The chunk.
+     */
+    public Chunk get(int index) {
+        return chunks[index];
+    }
+
+    /**
+     * @return The amount of subscribed chunks.
+     */
+    public int size() {
+        return chunks.length;
+    }
+
+    /**
+     * @return The subscribed chunks.
+     */
+    Chunk[] getChunks() {
+        return chunks;
+    }
+
+    /**
+     * @return The chunk the subscriptions are centered on, or {@code null} if there are no subscriptions.
+     */
+    public ChunkPosition getCenter() {
+        return center;
+    }
+
+    /**
+     * @return The subscribing player.
+     */
+    public Player getPlayer() {
+        return player;
+    }
+}
@@ -0,0 +1,101 @@
+package io.luna.game.model.chunk;
+
+import io.luna.game.model.Position;
+import io.luna.game.model.mob.Player;
+import io.luna.net.msg.GameMessageWriter;
+import io.luna.net.msg.out.GroupedChunkUpdateMessageWriter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A model that collects the chunk updates of a single player over the course of a tick, and flushes them as one
+ * {@link GroupedChunkUpdateMessageWriter} per chunk. Updates to the same chunk are sent in the order they were added.
+ * <p>
+ * This class is <strong>not</strong> thread safe. Updates should only be added on the game thread.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class ChunkUpdateBatcher {
+
+    /**
+     * The player to send updates to.
+     */
+    private final Player player;
+
+    /**
+     * The pending updates, grouped by chunk.
+     */
+    private final Map<ChunkPosition, List<byte[]>> pending = new LinkedHashMap<>();
+
+    /**
+     * Creates a new {@link ChunkUpdateBatcher}.
+     *
+     * @param player The player to send updates to.
+     */
+    public ChunkUpdateBatcher(Player player) {
+        this.player = player;
+    }
+
+    /**
+     * Adds an update for {@code chunk}, to be sent on the next {@link #flush()}.
+     *
+     * @param chunk The chunk the update is relative to.
+     * @param update The update.
+     */
+    public void add(ChunkPosition chunk, GameMessageWriter update) {
+        addEncoded(chunk, GroupedChunkUpdateMessageWriter.encode(List.of(update), player));
+    }
+
+    /**
+     * Adds updates for {@code chunk} that were already encoded with
+     * {@link GroupedChunkUpdateMessageWriter#encode(List, Player)}, to be sent on the next {@link #flush()}. The array
+     * may be shared with other players, and must not be modified.
+     *
+     * @param chunk The chunk the updates are relative to.
+     * @param updates The encoded updates.
+     */
+    public void addEncoded(ChunkPosition chunk, byte[] updates) {
+        pending.computeIfAbsent(chunk, key -> new ArrayList<>(4)).add(updates);
+    }
+
+    /**
+     * Discards all pending updates for {@code chunk}. Should be used when the chunk is about to be cleared and
+     * repopulated, so that stale updates aren't applied on top of it.
+     *
+     * @param chunk The chunk.
+     */
+    public void discard(ChunkPosition chunk) {
+        pending.remove(chunk);
+    }
+
+    /**
+     * Queues one grouped message for every chunk with pending updates, and clears all pending updates. Chunks outside
+     * of the player's loaded region are skipped, the client would ignore them anyway.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Position region = player.getLastRegion();
+        if (region != null) {
+            for (Map.Entry<ChunkPosition, List<byte[]>> entry : pending.entrySet()) {
+                ChunkPosition chunk = entry.getKey();
+                if (chunk.isWithinRegion(region)) {
+                    Position base = new Position(chunk.getAbsX(), chunk.getAbsY(), chunk.getZ());
+                    player.queue(new GroupedChunkUpdateMessageWriter(base, entry.getValue()));
+                }
+            }
+        }
+        pending.clear();
+    }
+
+    /**
+     * @return {@code true} if there are no pending updates.
+     */
+    public boolean isEmpty() {
+        return pending.isEmpty();
+    }
+}
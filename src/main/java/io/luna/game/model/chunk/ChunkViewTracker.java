@@ -0,0 +1,97 @@
+package io.luna.game.model.chunk;
+
+import io.luna.game.model.Position;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A model that tracks which chunks have had their stationary entities sent to a player's client, and on which tick.
+ * Used to diff a player's view across region changes, so that only chunks that entered the loaded region or were
+ * modified since they were last sent need to be cleared and repopulated. Refreshes are queued and performed by
+ * {@link ChunkManager#dispatchUpdates(Iterable)}, so that they reflect the state of the chunk at the end of the tick.
+ * <p>
+ * This class is <strong>not</strong> thread safe, it should only be accessed on the game thread.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class ChunkViewTracker {
+
+    /**
+     * The chunks that have been sent, mapped to the tick they were sent on.
+     */
+    private final Map<ChunkPosition, Long> sent = new HashMap<>();
+
+    /**
+     * The chunks queued to be cleared and repopulated.
+     */
+    private final Set<ChunkPosition> refreshes = new LinkedHashSet<>();
+
+    /**
+     * Determines if the client still has an up to date copy of the objects and ground items in {@code chunk}. Mobs
+     * moving around don't count as modifications. Chunks modified on the same tick they were sent are never
+     * considered up to date, as the modification may have come after the send.
+     *
+     * @param chunk The chunk.
+     * @return {@code true} if the chunk doesn't need to be resent.
+     */
+    public boolean isCurrent(Chunk chunk) {
+        Long sentTick = sent.get(chunk.getPosition());
+        return sentTick != null && chunk.getLastStationaryModified() < sentTick;
+    }
+
+    /**
+     * Records that {@code chunk} was sent on {@code tick}.
+     *
+     * @param chunk The chunk.
+     * @param tick The current tick.
+     */
+    public void markSent(ChunkPosition chunk, long tick) {
+        sent.put(chunk, tick);
+    }
+
+    /**
+     * Queues {@code chunk} to be cleared and repopulated during synchronization.
+     *
+     * @param chunk The chunk.
+     */
+    public void queueRefresh(ChunkPosition chunk) {
+        refreshes.add(chunk);
+    }
+
+    /**
+     * Determines if {@code chunk} is queued to be cleared and repopulated.
+     *
+     * @param chunk The chunk.
+     * @return {@code true} if a refresh is queued.
+     */
+    public boolean isRefreshQueued(ChunkPosition chunk) {
+        return !refreshes.isEmpty() && refreshes.contains(chunk);
+    }
+
+    /**
+     * @return The chunks queued to be cleared and repopulated.
+     */
+    Set<ChunkPosition> getRefreshes() {
+        return refreshes;
+    }
+
+    /**
+     * Forgets every chunk that isn't within the region the client loaded around {@code region}. The client discards
+     * those chunks, so they'll need to be sent again once they come back into view.
+     *
+     * @param region The last known region of the client.
+     */
+    public void retainRegion(Position region) {
+        sent.keySet().removeIf(chunk -> !chunk.isWithinRegion(region));
+    }
+
+    /**
+     * @return The amount of chunks tracked.
+     */
+    public int size() {
+        return sent.size();
+    }
+}
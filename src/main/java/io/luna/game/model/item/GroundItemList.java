@@ -304,7 +304,7 @@ public final class GroundItemList extends EntityList<GroundItem> {
      * @return {@code true} if this tile has enough space.
      */
     private boolean tileSpaceFor(Position position, int addAmount) {
-        return world.getChunks().load(position).stream(type).
+        return world.getChunks().stream(position, type).
                 filter(it -> it.getPosition().equals(position)).count() + addAmount <= 255;
     }
 
@@ -346,9 +346,7 @@ public final class GroundItemList extends EntityList<GroundItem> {
      */
     private Stream<GroundItem> findAllExisting(GroundItem item) {
         Position position = item.getPosition();
-        Stream<GroundItem> localItems = world.getChunks().
-                load(position).
-                stream(type);
+        Stream<GroundItem> localItems = world.getChunks().stream(position, type);
         return localItems.filter(it -> it.getId() == item.getId() &&
                 it.getPosition().equals(position) &&
                 it.getOwner().equals(item.getOwner()));
@@ -0,0 +1,177 @@
+package io.luna.game.model.mob;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * A model representing the local mobs of a player, in the order they were added. Membership is tracked through a
+ * bitset keyed by {@link MobList} index, so checking if a mob is local is a single bit test. Removals shift the
+ * remaining mobs rather than swapping them, so the protocol ordering is always preserved.
+ * <p>
+ * This class is <strong>not</strong> thread safe, it should only be accessed from the updating threads.
+ *
+ * @param <E> The type of mobs to contain.
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class LocalMobList<E extends Mob> implements Iterable<E> {
+
+    /**
+     * An iterator over local mobs, in protocol order.
+     */
+    private final class LocalMobListIterator implements Iterator<E> {
+
+        /**
+         * The current position.
+         */
+        private int curr;
+
+        /**
+         * The previous position.
+         */
+        private int prev = -1;
+
+        @Override
+        public boolean hasNext() {
+            return curr < size;
+        }
+
+        @Override
+        public E next() {
+            if (curr >= size) {
+                throw new NoSuchElementException("No elements left.");
+            }
+            prev = curr++;
+            return mobs[prev];
+        }
+
+        @Override
+        public void remove() {
+            checkState(prev != -1, "remove() can only be called once after each call to next().");
+            removeAt(prev);
+            curr = prev;
+            prev = -1;
+        }
+    }
+
+    /**
+     * The indexes of the local mobs, in protocol order.
+     */
+    private final int[] indexes;
+
+    /**
+     * The local mobs, in protocol order.
+     */
+    private final E[] mobs;
+
+    /**
+     * A bitset of local mob indexes.
+     */
+    private final long[] members;
+
+    /**
+     * The amount of local mobs.
+     */
+    private int size;
+
+    /**
+     * Creates a new {@link LocalMobList}.
+     *
+     * @param capacity The maximum amount of local mobs.
+     * @param indexCapacity The maximum {@link MobList} index.
+     */
+    @SuppressWarnings("unchecked")
+    public LocalMobList(int capacity, int indexCapacity) {
+        checkArgument(capacity > 0, "capacity must be above 0.");
+        indexes = new int[capacity];
+        mobs = (E[]) new Mob[capacity];
+        members = new long[(indexCapacity >> 6) + 1];
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new LocalMobListIterator();
+    }
+
+    /**
+     * Adds {@code mob} to the end of this list, if it isn't full and a mob with the same index isn't already local.
+     *
+     * @param mob The mob to add.
+     * @return {@code true} if the mob was added.
+     */
+    public boolean add(E mob) {
+        int index = mob.getIndex();
+        if (size == mobs.length || index == -1 || containsIndex(index)) {
+            return false;
+        }
+        members[index >> 6] |= 1L << index;
+        indexes[size] = index;
+        mobs[size++] = mob;
+        return true;
+    }
+
+    /**
+     * Determines if a mob with the same index as {@code mob} is local.
+     *
+     * @param mob The mob.
+     * @return {@code true} if the mob is local.
+     */
+    public boolean contains(E mob) {
+        int index = mob.getIndex();
+        return index != -1 && containsIndex(index);
+    }
+
+    /**
+     * Determines if a mob with {@code index} is local.
+     *
+     * @param index The index.
+     * @return {@code true} if a mob with the index is local.
+     */
+    public boolean containsIndex(int index) {
+        return (members[index >> 6] & 1L << index) != 0;
+    }
+
+    /**
+     * Removes all local mobs.
+     */
+    public void clear() {
+        Arrays.fill(members, 0);
+        Arrays.fill(mobs, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Removes the mob at {@code position}, shifting all mobs after it down by one.
+     *
+     * @param position The position to remove.
+     */
+    private void removeAt(int position) {
+        // Use the index the mob was added with, it may have been unregistered since.
+        int index = indexes[position];
+        members[index >> 6] &= ~(1L << index);
+
+        int shift = size - position - 1;
+        if (shift > 0) {
+            System.arraycopy(indexes, position + 1, indexes, position, shift);
+            System.arraycopy(mobs, position + 1, mobs, position, shift);
+        }
+        mobs[--size] = null;
+    }
+
+    /**
+     * @return The amount of local mobs.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true} if no more mobs can be added.
+     */
+    public boolean isFull() {
+        return size == mobs.length;
+    }
+}
@@ -13,6 +13,7 @@ import io.luna.game.model.mob.attr.AttributeMap;
 import io.luna.game.model.mob.block.UpdateFlagSet;
 import io.luna.game.model.mob.block.UpdateFlagSet.UpdateFlag;
 import io.luna.game.task.Task;
+import io.luna.net.codec.ByteMessage;
 
 import java.util.Optional;
 import java.util.OptionalInt;
@@ -124,6 +125,11 @@ public abstract class Mob extends Entity {
      */
     private Npc npcInstance;
 
+    /**
+     * The cached update block.
+     */
+    private ByteMessage cachedBlock;
+
     /**
      * Creates a new {@link Mob}.
      *
@@ -457,6 +463,7 @@ public abstract class Mob extends Entity {
         primaryHit = Optional.empty();
         secondaryHit = Optional.empty();
         flags.clear();
+        setCachedBlock(null);
     }
 
     /**
@@ -623,6 +630,39 @@ public abstract class Mob extends Entity {
         return interactingWith;
     }
 
+    /**
+     * @return The cached update block.
+     */
+    public final ByteMessage getCachedBlock() {
+        return cachedBlock;
+    }
+
+    /**
+     * @return {@code true} if the mob has a cached block.
+     */
+    public final boolean hasCachedBlock() {
+        return cachedBlock != null;
+    }
+
+    /**
+     * Sets the cached update block.
+     *
+     * @param newMsg The value to set to.
+     */
+    public final void setCachedBlock(ByteMessage newMsg) {
+        // We have a cached block, release a reference to it.
+        if (cachedBlock != null) {
+            cachedBlock.release();
+        }
+
+        // Retain a reference to the new cached block.
+        if (newMsg != null) {
+            newMsg.retain();
+        }
+
+        cachedBlock = newMsg;
+    }
+
     /**
      * @return The transformation identifier.
      */
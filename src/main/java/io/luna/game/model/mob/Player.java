@@ -8,9 +8,13 @@ import io.luna.game.action.Action;
 import io.luna.game.event.impl.LoginEvent;
 import io.luna.game.event.impl.LogoutEvent;
 import io.luna.game.model.Direction;
+import io.luna.game.model.Entity;
 import io.luna.game.model.EntityState;
 import io.luna.game.model.EntityType;
 import io.luna.game.model.Position;
+import io.luna.game.model.chunk.ChunkSubscriptions;
+import io.luna.game.model.chunk.ChunkUpdateBatcher;
+import io.luna.game.model.chunk.ChunkViewTracker;
 import io.luna.game.model.item.Bank;
 import io.luna.game.model.item.Equipment;
 import io.luna.game.model.item.GroundItem;
@@ -27,7 +31,6 @@ import io.luna.game.service.LogoutService;
 import io.luna.game.service.PersistenceService;
 import io.luna.net.LunaChannelFilter;
 import io.luna.net.client.GameClient;
-import io.luna.net.codec.ByteMessage;
 import io.luna.net.msg.GameMessageWriter;
 import io.luna.net.msg.out.GameChatboxMessageWriter;
 import io.luna.net.msg.out.LogoutMessageWriter;
@@ -50,6 +53,9 @@ import java.util.OptionalInt;
 import java.util.Set;
 
 import static com.google.common.base.Preconditions.checkState;
+import static io.luna.game.model.EntityConstants.MAX_LOCAL_MOBS;
+import static io.luna.game.model.EntityConstants.MAX_NPCS;
+import static io.luna.game.model.EntityConstants.MAX_PLAYERS;
 
 /**
  * A model representing a player-controlled mob.
@@ -128,20 +134,40 @@ public final class Player extends Mob {
     private static final Logger logger = LogManager.getLogger();
 
     /**
-     * A set of local players. Should only be accessed from the updating threads.
+     * A list of local players. Should only be accessed from the updating threads.
      */
-    private final Set<Player> localPlayers = new LinkedHashSet<>(255);
+    private final LocalMobList<Player> localPlayers = new LocalMobList<>(MAX_LOCAL_MOBS, MAX_PLAYERS);
 
     /**
-     * A set of local npcs. Should only be accessed from the updating threads.
+     * A list of local npcs. Should only be accessed from the updating threads.
      */
-    private final Set<Npc> localNpcs = new LinkedHashSet<>(255);
+    private final LocalMobList<Npc> localNpcs = new LocalMobList<>(MAX_LOCAL_MOBS, MAX_NPCS);
 
     /**
      * A set of local objects.
      */
     private final Set<GameObject> localObjects = new HashSet<>(4);
 
+    /**
+     * The chunk updates batched for this tick.
+     */
+    private final ChunkUpdateBatcher chunkUpdates = new ChunkUpdateBatcher(this);
+
+    /**
+     * The chunks whose stationary entities have been sent to the client.
+     */
+    private final ChunkViewTracker sentChunks = new ChunkViewTracker();
+
+    /**
+     * The chunks this player is subscribed to.
+     */
+    private final ChunkSubscriptions subscriptions = new ChunkSubscriptions(this);
+
+    /**
+     * The adaptive viewing distance.
+     */
+    private final ViewingDistance viewingDistance = new ViewingDistance(Luna.settings().viewDistanceCrowdThreshold());
+
     /**
      * The appearance.
      */
@@ -188,9 +214,9 @@ public final class Player extends Mob {
     private PlayerSettings settings = new PlayerSettings();
 
     /**
-     * The cached update block.
+     * The cached appearance block. Rebuilt whenever the appearance block is flagged.
      */
-    private ByteMessage cachedBlock;
+    private byte[] cachedAppearance;
 
     /**
      * The rights.
@@ -212,6 +238,16 @@ public final class Player extends Mob {
      */
     private boolean regionChanged;
 
+    /**
+     * If more players may be waiting to be added to the local player list.
+     */
+    private boolean pendingLocalPlayers;
+
+    /**
+     * If more NPCs may be waiting to be added to the local NPC list.
+     */
+    private boolean pendingLocalNpcs;
+
     /**
      * The running direction.
      */
@@ -355,6 +391,7 @@ public final class Player extends Mob {
 
     @Override
     protected void onActive() {
+        world.getChunks().subscribe(this);
         world.getAreas().notifyLogin(this);
         teleporting = true;
         flags.flag(UpdateFlag.APPEARANCE);
@@ -366,9 +403,11 @@ public final class Player extends Mob {
         actions.interrupt();
         world.getPlayerMap().remove(getUsername());
         world.getAreas().notifyLogout(this);
+        world.getChunks().unsubscribe(this);
         removeLocalObjects();
         interfaces.close();
         plugins.post(new LogoutEvent(this));
+        client.flushLast();
     }
 
     @Override
@@ -414,6 +453,7 @@ public final class Player extends Mob {
 
     @Override
     protected void onPositionChange(Position oldPos) {
+        world.getChunks().subscribe(this);
         world.getAreas().notifyPositionChange(this, oldPos, position);
     }
 
@@ -567,13 +607,17 @@ public final class Player extends Mob {
     }
 
     /**
-     * Sends a region update, if one is needed.
+     * Sends a region update, if one is needed. Changing planes within the loaded region doesn't need one, as the
+     * client keeps every plane of the region loaded. Only the chunks on the new plane are refreshed instead.
      */
     public void sendRegionUpdate() {
         if (lastRegion == null || needsRegionUpdate()) {
             regionChanged = true;
             lastRegion = position;
             queue(new RegionChangeMessageWriter());
+        } else if (lastRegion.getZ() != position.getZ()) {
+            lastRegion = new Position(lastRegion.getX(), lastRegion.getY(), position.getZ());
+            world.getChunks().queueRefreshes(this, false);
         }
     }
 
@@ -783,19 +827,73 @@ public final class Player extends Mob {
     }
 
     /**
-     * @return A set of local players. Should only be accessed from the updating threads.
+     * @return A list of local players. Should only be accessed from the updating threads.
      */
-    public Set<Player> getLocalPlayers() {
+    public LocalMobList<Player> getLocalPlayers() {
         return localPlayers;
     }
 
     /**
-     * @return A set of local npcs. Should only be accessed from the updating threads.
+     * @return A list of local npcs. Should only be accessed from the updating threads.
      */
-    public Set<Npc> getLocalNpcs() {
+    public LocalMobList<Npc> getLocalNpcs() {
         return localNpcs;
     }
 
+    /**
+     * @return The chunk updates batched for this tick.
+     */
+    public ChunkUpdateBatcher getChunkUpdates() {
+        return chunkUpdates;
+    }
+
+    /**
+     * @return The chunks whose stationary entities have been sent to the client.
+     */
+    public ChunkViewTracker getSentChunks() {
+        return sentChunks;
+    }
+
+    /**
+     * @return The chunks this player is subscribed to.
+     */
+    public ChunkSubscriptions getSubscriptions() {
+        return subscriptions;
+    }
+
+    /**
+     * Adjusts the viewing distance of this player according to how crowded they are, and how loaded the server is.
+     * If the distance changes, the surroundings of this player will be searched for new local mobs. Growing brings
+     * new mobs into view, and shrinking frees up room in local mob lists that may have been full.
+     *
+     * @param overloaded If the current tick ran over its time threshold.
+     */
+    public void updateViewingDistance(boolean overloaded) {
+        int localMobs = localPlayers.size() + localNpcs.size();
+        if (viewingDistance.update(localMobs, overloaded)) {
+            pendingLocalPlayers = true;
+            pendingLocalNpcs = true;
+        }
+    }
+
+    /**
+     * Determines if {@code other} is within the current viewing distance of this player. Should be used over
+     * {@link #isViewableFrom(Entity)} when deciding which mobs this player should see.
+     *
+     * @param other The entity.
+     * @return {@code true} if {@code other} is in view.
+     */
+    public boolean canView(Entity other) {
+        return position.isWithinDistance(other.getPosition(), viewingDistance.get());
+    }
+
+    /**
+     * @return The current viewing distance.
+     */
+    public int getViewingDistance() {
+        return viewingDistance.get();
+    }
+
     /**
      * Sets the settings.
      *
@@ -829,36 +927,19 @@ public final class Player extends Mob {
     }
 
     /**
-     * @return The cached update block.
+     * @return The cached appearance block.
      */
-    public ByteMessage getCachedBlock() {
-        return cachedBlock;
+    public byte[] getCachedAppearance() {
+        return cachedAppearance;
     }
 
     /**
-     * @return {@code true} if the player has a cached block.
-     */
-    public boolean hasCachedBlock() {
-        return cachedBlock != null;
-    }
-
-    /**
-     * Sets the cached update block.
+     * Sets the cached appearance block.
      *
-     * @param newMsg The value to set to.
+     * @param cachedAppearance The value to set to.
      */
-    public void setCachedBlock(ByteMessage newMsg) {
-        // We have a cached block, release a reference to it.
-        if (cachedBlock != null) {
-            cachedBlock.release();
-        }
-
-        // Retain a reference to the new cached block.
-        if (newMsg != null) {
-            newMsg.retain();
-        }
-
-        cachedBlock = newMsg;
+    public void setCachedAppearance(byte[] cachedAppearance) {
+        this.cachedAppearance = cachedAppearance;
     }
 
     /**
@@ -893,6 +974,38 @@ public final class Player extends Mob {
         this.regionChanged = regionChanged;
     }
 
+    /**
+     * @return {@code true} if more players may be waiting to be added to the local player list.
+     */
+    public boolean hasPendingLocalPlayers() {
+        return pendingLocalPlayers;
+    }
+
+    /**
+     * Sets if more players may be waiting to be added to the local player list.
+     *
+     * @param pendingLocalPlayers The value to set to.
+     */
+    public void setPendingLocalPlayers(boolean pendingLocalPlayers) {
+        this.pendingLocalPlayers = pendingLocalPlayers;
+    }
+
+    /**
+     * @return {@code true} if more NPCs may be waiting to be added to the local NPC list.
+     */
+    public boolean hasPendingLocalNpcs() {
+        return pendingLocalNpcs;
+    }
+
+    /**
+     * Sets if more NPCs may be waiting to be added to the local NPC list.
+     *
+     * @param pendingLocalNpcs The value to set to.
+     */
+    public void setPendingLocalNpcs(boolean pendingLocalNpcs) {
+        this.pendingLocalNpcs = pendingLocalNpcs;
+    }
+
     /**
      * @return The running direction.
      */
@@ -0,0 +1,89 @@
+package io.luna.game.model.mob;
+
+import io.luna.game.model.EntityConstants;
+
+/**
+ * A model representing the adaptive viewing distance of a player. The distance shrinks by a tile every tick that the
+ * player is crowded or the server is overloaded, and slowly grows back to {@link EntityConstants#VIEWING_DISTANCE}
+ * once the pressure eases. This keeps the cost of synchronizing each player bounded during mass events.
+ * <p>
+ * This class is <strong>not</strong> thread safe, it should only be updated on the game thread.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class ViewingDistance {
+
+    /**
+     * The smallest the viewing distance can shrink to.
+     */
+    public static final int MINIMUM = 4;
+
+    /**
+     * The amount of calm ticks required before the viewing distance grows by a tile.
+     */
+    static final int GROW_DELAY = 5;
+
+    /**
+     * The amount of local mobs at which a player is considered crowded, or {@code 0} to never consider them crowded.
+     */
+    private final int crowdThreshold;
+
+    /**
+     * The current viewing distance.
+     */
+    private int distance = EntityConstants.VIEWING_DISTANCE;
+
+    /**
+     * The amount of consecutive calm ticks.
+     */
+    private int calmTicks;
+
+    /**
+     * Creates a new {@link ViewingDistance}.
+     *
+     * @param crowdThreshold The amount of local mobs at which a player is considered crowded, or {@code 0} to never
+     * consider them crowded.
+     */
+    public ViewingDistance(int crowdThreshold) {
+        this.crowdThreshold = crowdThreshold;
+    }
+
+    /**
+     * Adjusts the viewing distance according to the current pressure. The player is only considered calm once their
+     * local mob count drops to three quarters of the crowd threshold, so the distance doesn't oscillate around it.
+     *
+     * @param localMobs The amount of local mobs.
+     * @param overloaded If the last tick ran over its time threshold.
+     * @return {@code true} if the viewing distance changed.
+     */
+    public boolean update(int localMobs, boolean overloaded) {
+        boolean crowded = crowdThreshold > 0 && localMobs >= crowdThreshold;
+        if (crowded || overloaded) {
+            calmTicks = 0;
+            if (distance > MINIMUM) {
+                distance--;
+                return true;
+            }
+            return false;
+        }
+
+        boolean calm = crowdThreshold <= 0 || localMobs * 4 < crowdThreshold * 3;
+        if (!calm) {
+            calmTicks = 0;
+            return false;
+        }
+        if (distance < EntityConstants.VIEWING_DISTANCE && ++calmTicks >= GROW_DELAY) {
+            calmTicks = 0;
+            distance++;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The current viewing distance.
+     */
+    public int get() {
+        return distance;
+    }
+}
@@ -7,12 +7,14 @@ import io.luna.game.model.mob.block.UpdateFlagSet.UpdateFlag;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.ByteOrder;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static io.luna.game.model.mob.block.UpdateFlagSet.UpdateFlag.APPEARANCE;
 import static io.luna.game.model.mob.block.UpdateFlagSet.UpdateFlag.CHAT;
 import static io.luna.game.model.mob.block.UpdateState.ADD_LOCAL;
+import static io.luna.game.model.mob.block.UpdateState.UPDATE_LOCAL;
 import static io.luna.game.model.mob.block.UpdateState.UPDATE_SELF;
 
 /**
@@ -28,13 +30,46 @@ public abstract class AbstractUpdateBlockSet<E extends Mob> {
      */
     private final ImmutableList<UpdateBlock> updateBlocks;
 
+    /**
+     * The type of mob this block set encodes for.
+     */
+    private final EntityType type;
+
+    /**
+     * The update blocks, in encoding order.
+     */
+    private final UpdateBlock[] blocks;
+
+    /**
+     * The update mask of each block, by encoding order.
+     */
+    private final int[] masks;
+
+    /**
+     * The encoding order of each block, by {@link UpdateFlag} ordinal. {@code -1} if the flag isn't supported.
+     */
+    private final int[] order = new int[UpdateFlag.values().length];
+
     /**
      * Creates a new {@link AbstractUpdateBlockSet}.
      *
-     * @param updateBlocks The update blocks.
+     * @param updateBlocks The update blocks, in encoding order.
+     * @param type The type of mob this block set encodes for.
      */
-    public AbstractUpdateBlockSet(List<UpdateBlock> updateBlocks) {
+    public AbstractUpdateBlockSet(List<UpdateBlock> updateBlocks, EntityType type) {
+        checkArgument(updateBlocks.size() <= Integer.SIZE, "Too many update blocks.");
         this.updateBlocks = ImmutableList.copyOf(updateBlocks);
+        this.type = type;
+
+        // Precompute tables so masks and encoding order can be computed with bit operations.
+        blocks = this.updateBlocks.toArray(new UpdateBlock[0]);
+        masks = new int[blocks.length];
+        Arrays.fill(order, -1);
+        for (int index = 0; index < blocks.length; index++) {
+            UpdateBlock block = blocks[index];
+            masks[index] = type == EntityType.PLAYER ? block.getPlayerMask() : block.getNpcMask();
+            order[block.getFlag().ordinal()] = index;
+        }
     }
 
     /**
@@ -63,33 +98,10 @@ public abstract class AbstractUpdateBlockSet<E extends Mob> {
      * @param state The update state.
      */
     final void encodeBlockSet(E mob, ByteMessage blockMsg, UpdateState state) {
-        List<UpdateBlock> encodeBlocks = new ArrayList<>(updateBlocks.size());
-        int mask = 0;
-        for (UpdateBlock block : updateBlocks) {
-            UpdateFlag updateFlag = block.getFlag();
-
-            if(mob.getType() == EntityType.PLAYER) {
-                // We are adding local players, so we need to force the appearance block.
-                if (state == ADD_LOCAL && updateFlag == APPEARANCE) {
-                    mask |= block.getMask(mob);
-                    encodeBlocks.add(block);
-                    continue;
-                }
-
-                // We are updating ourselves, ignore our own chat block.
-                if (state == UPDATE_SELF && updateFlag == CHAT) {
-                    continue;
-                }
-            }
-
-            // Add the update block to the cache, if its flagged.
-            if (mob.getFlags().get(updateFlag)) {
-                mask |= block.getMask(mob);
-                encodeBlocks.add(block);
-            }
-        }
+        int encodeBits = computeEncodeBits(mob.getFlags().getBits(), state);
 
         // Encode the update mask.
+        int mask = computeMask(encodeBits);
         if (mask >= 256) {
             mask |= 64;
             blockMsg.putShort(mask, ByteOrder.LITTLE);
@@ -98,9 +110,79 @@ public abstract class AbstractUpdateBlockSet<E extends Mob> {
         }
 
         // And finally, encode the update blocks!
-        for (UpdateBlock block : encodeBlocks) {
-            encodeBlock(mob, block, blockMsg);
+        while (encodeBits != 0) {
+            int index = Integer.numberOfTrailingZeros(encodeBits);
+            encodeBlock(mob, blocks[index], blockMsg);
+            encodeBits &= encodeBits - 1;
+        }
+    }
+
+    /**
+     * Determines which update blocks need to be encoded.
+     *
+     * @param flagBits The flagged update blocks, from {@link UpdateFlagSet#getBits()}.
+     * @param state The update state.
+     * @return A bitmask where each bit is the encoding order of an update block that needs to be encoded.
+     */
+    final int computeEncodeBits(int flagBits, UpdateState state) {
+        if (type == EntityType.PLAYER) {
+            if (state == ADD_LOCAL) {
+                // We are adding local players, so we need to force the appearance block.
+                flagBits |= APPEARANCE.getBit();
+            } else if (state == UPDATE_SELF) {
+                // We are updating ourselves, ignore our own chat block.
+                flagBits &= ~CHAT.getBit();
+            }
+        }
+
+        int encodeBits = 0;
+        while (flagBits != 0) {
+            int index = order[Integer.numberOfTrailingZeros(flagBits)];
+            if (index != -1) {
+                encodeBits |= 1 << index;
+            }
+            flagBits &= flagBits - 1;
         }
+        return encodeBits;
+    }
+
+    /**
+     * Computes the update mask for the update blocks that need to be encoded.
+     *
+     * @param encodeBits The update blocks that need to be encoded, from {@link #computeEncodeBits(int, UpdateState)}.
+     * @return The update mask.
+     */
+    final int computeMask(int encodeBits) {
+        int mask = 0;
+        while (encodeBits != 0) {
+            mask |= masks[Integer.numberOfTrailingZeros(encodeBits)];
+            encodeBits &= encodeBits - 1;
+        }
+        return mask;
+    }
+
+    /**
+     * Encodes the {@code UPDATE_LOCAL} block set for {@code mob} and caches it, so that it's only encoded once per
+     * tick rather than once per viewer. Should only be called before synchronization, as the cached block is shared
+     * between all synchronization threads and must not be modified once they start.
+     *
+     * @param mob The mob.
+     */
+    public void cacheBlockSet(E mob) {
+        ByteMessage blockMsg = ByteMessage.raw();
+        try {
+            encodeBlockSet(mob, blockMsg, UPDATE_LOCAL);
+            mob.setCachedBlock(blockMsg);
+        } finally {
+            blockMsg.release();
+        }
+    }
+
+    /**
+     * @return The immutable list of update blocks, in encoding order.
+     */
+    public final ImmutableList<UpdateBlock> getUpdateBlocks() {
+        return updateBlocks;
     }
 
     /**
@@ -9,6 +9,7 @@ import io.luna.game.model.mob.PlayerAppearance;
 import io.luna.game.model.mob.block.UpdateFlagSet.UpdateFlag;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.ValueType;
+import io.netty.buffer.ByteBufUtil;
 
 import java.util.OptionalInt;
 import java.util.function.Function;
@@ -29,6 +30,34 @@ public final class AppearanceUpdateBlock extends UpdateBlock {
 
     @Override
     public void encodeForPlayer(Player player, ByteMessage msg) {
+        // Use the cached appearance if possible, it's rebuilt whenever the appearance block is flagged.
+        byte[] block = player.getCachedAppearance();
+        if (block == null) {
+            block = encodeAppearance(player);
+        }
+
+        // Append appearance block to block set buffer.
+        msg.put(block.length, ValueType.NEGATE);
+        msg.putBytes(block);
+    }
+
+    /**
+     * Encodes and caches the appearance of {@code player}. Should only be called before synchronization, when the
+     * appearance block has been flagged.
+     *
+     * @param player The player.
+     */
+    public void cacheAppearance(Player player) {
+        player.setCachedAppearance(encodeAppearance(player));
+    }
+
+    /**
+     * Encodes the appearance of {@code player} into a new array.
+     *
+     * @param player The player.
+     * @return The encoded appearance.
+     */
+    private byte[] encodeAppearance(Player player) {
         ByteMessage buf = ByteMessage.raw();
         try {
             buf.put(player.getAppearance().get(PlayerAppearance.GENDER)); // Gender.
@@ -52,10 +81,7 @@ public final class AppearanceUpdateBlock extends UpdateBlock {
             buf.put(player.getCombatLevel()); // Combat level.
             buf.putShort(0); // Skill level for Burthrope games' room.
 
-            // Append appearance block to block set buffer.
-            int currentIndex = buf.getBuffer().writerIndex();
-            msg.put(currentIndex, ValueType.NEGATE);
-            msg.putBytes(buf);
+            return ByteBufUtil.getBytes(buf.getBuffer());
         } finally {
             buf.release();
         }
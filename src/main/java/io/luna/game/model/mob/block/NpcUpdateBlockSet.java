@@ -1,6 +1,7 @@
 package io.luna.game.model.mob.block;
 
 import com.google.common.collect.ImmutableList;
+import io.luna.game.model.EntityType;
 import io.luna.game.model.mob.Npc;
 import io.luna.net.codec.ByteMessage;
 
@@ -30,11 +31,16 @@ public class NpcUpdateBlockSet extends AbstractUpdateBlockSet<Npc> {
      * Creates a new {@link NpcUpdateBlockSet}.
      */
     public NpcUpdateBlockSet() {
-        super(UPDATE_BLOCKS);
+        super(UPDATE_BLOCKS, EntityType.NPC);
     }
 
     @Override
     public void addBlockSet(Npc npc, ByteMessage msg, UpdateState state) {
+        // NPC block sets are the same in every state, so the cached block can always be used.
+        if (npc.hasCachedBlock()) {
+            msg.putBytes(npc.getCachedBlock());
+            return;
+        }
         encodeBlockSet(npc, msg, state);
     }
 
@@ -1,9 +1,11 @@
 package io.luna.game.model.mob.block;
 
 import com.google.common.collect.ImmutableList;
+import io.luna.game.model.EntityType;
 import io.luna.game.model.mob.Player;
 import io.luna.net.codec.ByteMessage;
 
+import static io.luna.game.model.mob.block.UpdateFlagSet.UpdateFlag.APPEARANCE;
 import static io.luna.game.model.mob.block.UpdateState.UPDATE_LOCAL;
 
 /**
@@ -14,6 +16,11 @@ import static io.luna.game.model.mob.block.UpdateState.UPDATE_LOCAL;
  */
 public class PlayerUpdateBlockSet extends AbstractUpdateBlockSet<Player> {
 
+    /**
+     * The appearance update block.
+     */
+    private static final AppearanceUpdateBlock APPEARANCE_BLOCK = new AppearanceUpdateBlock();
+
     /**
      * An immutable list of update blocks.
      */
@@ -24,7 +31,7 @@ public class PlayerUpdateBlockSet extends AbstractUpdateBlockSet<Player> {
         new ChatUpdateBlock(),
         new ForcedMovementUpdateBlock(),
         new InteractionUpdateBlock(),
-        new AppearanceUpdateBlock(),
+        APPEARANCE_BLOCK,
         new FacePositionUpdateBlock(),
         new PrimaryHitUpdateBlock(),
         new SecondaryHitUpdateBlock()
@@ -34,32 +41,26 @@ public class PlayerUpdateBlockSet extends AbstractUpdateBlockSet<Player> {
      * Creates a new {@link PlayerUpdateBlockSet}.
      */
     public PlayerUpdateBlockSet() {
-        super(UPDATE_BLOCKS);
+        super(UPDATE_BLOCKS, EntityType.PLAYER);
     }
 
     @Override
     public void addBlockSet(Player player, ByteMessage msg, UpdateState state) {
-        // If we can use a cached update block and the player has one, do it here.
-        boolean isCachingBlocks = state == UPDATE_LOCAL;
-        if (isCachingBlocks && player.hasCachedBlock()) {
+        // Local updates were encoded once before synchronization, so just copy them.
+        if (state == UPDATE_LOCAL && player.hasCachedBlock()) {
             msg.putBytes(player.getCachedBlock());
             return;
         }
+        encodeBlockSet(player, msg, state);
+    }
 
-        // Otherwise, encode and cache a new set of update blocks.
-        ByteMessage blockMsg = ByteMessage.raw();
-        try {
-            encodeBlockSet(player, blockMsg, state);
-            msg.putBytes(blockMsg);
-
-            // TODO We can probably cache update blocks in any phase.
-            if (isCachingBlocks) {
-                player.setCachedBlock(blockMsg);
-            }
-        } finally {
-            // TODO Resource leak here? Could have something to do with caching the blocks?
-            blockMsg.release();
+    @Override
+    public void cacheBlockSet(Player player) {
+        // Rebuild the cached appearance before anything that depends on it is encoded.
+        if (player.getFlags().get(APPEARANCE)) {
+            APPEARANCE_BLOCK.cacheAppearance(player);
         }
+        super.cacheBlockSet(player);
     }
 
     @Override
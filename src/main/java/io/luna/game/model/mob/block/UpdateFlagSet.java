@@ -1,7 +1,5 @@
 package io.luna.game.model.mob.block;
 
-import java.util.EnumSet;
-
 /**
  * A model that manages update flags for mobs.
  *
@@ -23,13 +21,25 @@ public final class UpdateFlagSet {
         PRIMARY_HIT,
         SECONDARY_HIT,
         TRANSFORM,
-        FORCED_MOVEMENT
+        FORCED_MOVEMENT;
+
+        /**
+         * The bit representing this flag within an {@link UpdateFlagSet}.
+         */
+        private final int bit = 1 << ordinal();
+
+        /**
+         * @return The bit representing this flag within an {@link UpdateFlagSet}.
+         */
+        public int getBit() {
+            return bit;
+        }
     }
 
     /**
-     * A set that tracks flagged update blocks.
+     * A bitmask that tracks flagged update blocks.
      */
-    private final EnumSet<UpdateFlag> flags = EnumSet.noneOf(UpdateFlag.class);
+    private int flags;
 
     /**
      * Flag an update block.
@@ -37,7 +47,7 @@ public final class UpdateFlagSet {
      * @param flag The block to flag.
      */
     public void flag(UpdateFlag flag) {
-        flags.add(flag);
+        flags |= flag.bit;
     }
 
     /**
@@ -46,7 +56,7 @@ public final class UpdateFlagSet {
      * @param flag The block to unflag.
      */
     public void unflag(UpdateFlag flag) {
-        flags.remove(flag);
+        flags &= ~flag.bit;
     }
 
     /**
@@ -56,7 +66,16 @@ public final class UpdateFlagSet {
      * @return {@code true} if {@code flag} is flagged.
      */
     public boolean get(UpdateFlag flag) {
-        return flags.contains(flag);
+        return (flags & flag.bit) != 0;
+    }
+
+    /**
+     * Returns the flagged update blocks as a bitmask, where each {@link UpdateFlag#getBit()} is set if flagged.
+     *
+     * @return The bitmask.
+     */
+    public int getBits() {
+        return flags;
     }
 
     /**
@@ -65,13 +84,13 @@ public final class UpdateFlagSet {
      * @return {@code true} if no blocks are flagged.
      */
     public boolean isEmpty() {
-        return flags.isEmpty();
+        return flags == 0;
     }
 
     /**
      * Clears all flagged blocks. When this method returns, all blocks will be unflagged.
      */
     public void clear() {
-        flags.clear();
+        flags = 0;
     }
 }
@@ -5,11 +5,14 @@ import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.ListeningExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.common.util.concurrent.Service;
+import io.luna.Luna;
 import io.luna.LunaContext;
+import io.luna.LunaRuntimeMode;
 import io.luna.game.event.impl.ServerLaunchEvent;
 import io.luna.game.model.World;
 import io.luna.game.model.mob.Player;
 import io.luna.game.plugin.PluginManager;
+import io.luna.game.service.TickProfiler.Phase;
 import io.luna.game.task.Task;
 import io.luna.net.msg.out.SystemUpdateMessageWriter;
 import io.luna.util.ExecutorUtils;
@@ -111,6 +114,16 @@ public final class GameService extends AbstractScheduledService {
      */
     private final ListeningExecutorService fastPool;
 
+    /**
+     * The tick profiler. Only enabled in {@code BENCHMARK} mode.
+     */
+    private final TickProfiler profiler;
+
+    /**
+     * The game tick scheduler.
+     */
+    private final GameTickScheduler scheduler;
+
     /**
      * Creates a new {@link GameService}.
      *
@@ -120,25 +133,32 @@ public final class GameService extends AbstractScheduledService {
         this.context = context;
         world = context.getWorld();
         fastPool = ExecutorUtils.threadPool(serviceName() + "Worker");
+        profiler = new TickProfiler(Luna.settings().runtimeMode() == LunaRuntimeMode.BENCHMARK);
+        scheduler = new GameTickScheduler(Luna.settings().tickCatchUpPolicy(), 600, TimeUnit.MILLISECONDS);
         addListener(new GameServiceListener(), MoreExecutors.directExecutor());
     }
 
     @Override
     protected void runOneIteration() {
         try {
+            profiler.start();
+
             // Do stuff from other threads.
             runSynchronizationTasks();
+            profiler.mark(Phase.SYNC_TASKS);
 
             // Run the main game loop.
             world.loop();
         } catch (Exception e) {
             logger.catching(e);
+        } finally {
+            profiler.finish();
         }
     }
 
     @Override
     protected Scheduler scheduler() {
-        return Scheduler.newFixedRateSchedule(600, 600, TimeUnit.MILLISECONDS);
+        return scheduler;
     }
 
     @Override
@@ -264,6 +284,27 @@ public final class GameService extends AbstractScheduledService {
         return context;
     }
 
+    /**
+     * @return The tick profiler. Only enabled in {@code BENCHMARK} mode.
+     */
+    public TickProfiler getProfiler() {
+        return profiler;
+    }
+
+    /**
+     * @return The amount of ticks the game thread is currently behind by. Can be used to shed optional work.
+     */
+    public int getTicksBehind() {
+        return scheduler.getTicksBehind();
+    }
+
+    /**
+     * @return The game tick scheduler.
+     */
+    public GameTickScheduler getScheduler() {
+        return scheduler;
+    }
+
     /**
      * @return The game executor. Any code passed through it will run on the game thread.
      */
@@ -0,0 +1,179 @@
+package io.luna.game.service;
+
+import com.google.common.util.concurrent.AbstractScheduledService.CustomScheduler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * A {@link CustomScheduler} that schedules game ticks against an absolute timeline derived from
+ * {@link System#nanoTime()}. Unlike a fixed-rate schedule, overruns are accounted for and handled according to a
+ * {@link CatchUpPolicy}, rather than silently being bunched together.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class GameTickScheduler extends CustomScheduler {
+
+    /**
+     * An enumerated type representing the policies that can be used to recover from ticks that ran over budget.
+     */
+    public enum CatchUpPolicy {
+
+        /**
+         * Missed ticks are dropped. The next tick runs immediately and the timeline is re-anchored to it.
+         */
+        SKIP,
+
+        /**
+         * Missed ticks are ran back to back, with no delay in between, until the timeline has been caught up with.
+         */
+        COMPRESS,
+
+        /**
+         * Missed ticks are ran at half the normal interval until the timeline has been caught up with. This avoids
+         * the bursts caused by {@link #COMPRESS} while still running every tick.
+         */
+        SPREAD
+    }
+
+    /**
+     * The asynchronous logger.
+     */
+    private static final Logger logger = LogManager.getLogger();
+
+    /**
+     * The maximum amount of ticks that can be caught up with. If the timeline falls further behind than this, the
+     * missed ticks are dropped regardless of the policy.
+     */
+    static final int MAX_TICKS_BEHIND = 10;
+
+    /**
+     * The catch-up policy.
+     */
+    private final CatchUpPolicy policy;
+
+    /**
+     * The interval between ticks, in nanoseconds.
+     */
+    private final long interval;
+
+    /**
+     * The time the next tick is due to start on the timeline.
+     */
+    private long deadline;
+
+    /**
+     * If the first tick has been scheduled.
+     */
+    private boolean started;
+
+    /**
+     * The amount of ticks the timeline is currently behind by.
+     */
+    private volatile int ticksBehind;
+
+    /**
+     * The amount of ticks that ran over budget.
+     */
+    private volatile long overruns;
+
+    /**
+     * The amount of ticks that were dropped.
+     */
+    private volatile long skipped;
+
+    /**
+     * Creates a new {@link GameTickScheduler}.
+     *
+     * @param policy The catch-up policy.
+     * @param interval The interval between ticks.
+     * @param unit The time unit of {@code interval}.
+     * @throws NullPointerException If {@code policy} is {@code null}.
+     */
+    public GameTickScheduler(CatchUpPolicy policy, long interval, TimeUnit unit) {
+        checkArgument(interval > 0, "interval must be above 0.");
+        this.policy = requireNonNull(policy, "A catch-up policy must be specified.");
+        this.interval = unit.toNanos(interval);
+    }
+
+    @Override
+    protected Schedule getNextSchedule() {
+        return new Schedule(nextDelay(System.nanoTime()), TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Advances the timeline and computes the delay before the next tick should run.
+     *
+     * @param now The current time, in nanoseconds.
+     * @return The delay before the next tick, in nanoseconds.
+     */
+    synchronized long nextDelay(long now) {
+        if (!started) {
+            started = true;
+            deadline = now + interval;
+            return interval;
+        }
+
+        // Advance the timeline by one tick, then determine how far behind it we are.
+        deadline += interval;
+        long lateness = now - deadline;
+        if (lateness <= 0) {
+            // On time, correct any drift by waiting until the exact deadline.
+            ticksBehind = 0;
+            return -lateness;
+        }
+
+        overruns++;
+        int behind = (int) (lateness / interval);
+        if (policy == CatchUpPolicy.SKIP || behind > MAX_TICKS_BEHIND) {
+            if (behind > 0) {
+                skipped += behind;
+                logger.warn("Game thread is {} tick(s) behind, skipping ahead.", box(behind));
+            }
+            ticksBehind = 0;
+            deadline = now;
+            return 0;
+        }
+
+        ticksBehind = behind;
+        if (policy == CatchUpPolicy.SPREAD && behind > 0) {
+            // The deadline still advances a full interval every tick, so halve the next delay to catch up over
+            // several ticks instead of all at once.
+            return interval / 2;
+        }
+        return 0;
+    }
+
+    /**
+     * @return The catch-up policy.
+     */
+    public CatchUpPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * @return The amount of ticks the timeline is currently behind by. Can be used to shed optional work.
+     */
+    public int getTicksBehind() {
+        return ticksBehind;
+    }
+
+    /**
+     * @return The amount of ticks that ran over budget.
+     */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    /**
+     * @return The amount of ticks that were dropped.
+     */
+    public long getSkipped() {
+        return skipped;
+    }
+}
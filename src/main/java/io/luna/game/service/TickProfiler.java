@@ -0,0 +1,249 @@
+package io.luna.game.service;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.logging.log4j.util.Unbox.box;
+
+/**
+ * A model that times each phase of a game tick and keeps rolling p50/p99/max statistics over the most recent ticks.
+ * Only enabled when Luna is running in {@code BENCHMARK} mode, otherwise all functions return immediately.
+ * <p>
+ * This class is <strong>not</strong> thread safe, it should only be used from the game thread.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+public final class TickProfiler {
+
+    /**
+     * An enumerated type representing every timed phase of a game tick, in the order they are executed.
+     */
+    public enum Phase {
+        SYNC_TASKS,
+        LOGIN,
+        LOGOUT,
+        TASKS,
+        PRE_SYNCHRONIZE,
+        ENCODE_BLOCKS,
+        SYNCHRONIZE,
+        POST_SYNCHRONIZE;
+
+        /**
+         * An immutable list of all phases.
+         */
+        private static final Phase[] ALL = values();
+    }
+
+    /**
+     * The asynchronous logger.
+     */
+    private static final Logger logger = LogManager.getLogger();
+
+    /**
+     * The budget of a single tick, in nanoseconds.
+     */
+    public static final long TICK_BUDGET = TimeUnit.MILLISECONDS.toNanos(600);
+
+    /**
+     * The amount of ticks the rolling statistics are computed over.
+     */
+    public static final int WINDOW_SIZE = 100;
+
+    /**
+     * The index of the total tick time within {@link #samples}.
+     */
+    private static final int TOTAL = Phase.ALL.length;
+
+    /**
+     * If profiling is enabled.
+     */
+    private final boolean enabled;
+
+    /**
+     * The rolling samples, one row per phase plus one for the total tick time.
+     */
+    private final long[][] samples = new long[Phase.ALL.length + 1][WINDOW_SIZE];
+
+    /**
+     * The time spent in each phase for the current tick.
+     */
+    private final long[] current = new long[Phase.ALL.length];
+
+    /**
+     * The amount of ticks that exceeded {@link #TICK_BUDGET}.
+     */
+    private long overruns;
+
+    /**
+     * The amount of ticks recorded.
+     */
+    private long ticks;
+
+    /**
+     * The time the current tick started.
+     */
+    private long tickStart;
+
+    /**
+     * The time of the last recorded mark.
+     */
+    private long lastMark;
+
+    /**
+     * Creates a new {@link TickProfiler}.
+     *
+     * @param enabled If profiling is enabled.
+     */
+    public TickProfiler(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts timing a new tick.
+     */
+    public void start() {
+        if (enabled) {
+            Arrays.fill(current, 0);
+            tickStart = System.nanoTime();
+            lastMark = tickStart;
+        }
+    }
+
+    /**
+     * Records the time elapsed since the last mark as time spent within {@code phase}.
+     *
+     * @param phase The phase that just completed.
+     */
+    public void mark(Phase phase) {
+        if (enabled) {
+            long now = System.nanoTime();
+            current[phase.ordinal()] += now - lastMark;
+            lastMark = now;
+        }
+    }
+
+    /**
+     * Finishes timing the current tick, adds it to the rolling statistics and logs a breakdown if it went over
+     * budget. A summary is logged every {@link #WINDOW_SIZE} ticks.
+     */
+    public void finish() {
+        if (!enabled) {
+            return;
+        }
+        long total = System.nanoTime() - tickStart;
+        int index = (int) (ticks % WINDOW_SIZE);
+        for (Phase phase : Phase.ALL) {
+            samples[phase.ordinal()][index] = current[phase.ordinal()];
+        }
+        samples[TOTAL][index] = total;
+        ticks++;
+
+        if (total > TICK_BUDGET) {
+            overruns++;
+            logger.warn("Tick exceeded budget by {}ms! {}", box(toMillis(total - TICK_BUDGET)), breakdown());
+        }
+        if (ticks % WINDOW_SIZE == 0) {
+            logger.info(summary());
+        }
+    }
+
+    /**
+     * Computes a percentile of the rolling samples for {@code phase}.
+     *
+     * @param phase The phase, or {@code null} for the total tick time.
+     * @param percentile The percentile, from {@code 0} to {@code 100}.
+     * @return The percentile, in nanoseconds.
+     */
+    public long percentile(Phase phase, double percentile) {
+        int count = (int) Math.min(ticks, WINDOW_SIZE);
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples[phase == null ? TOTAL : phase.ordinal()], count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(rank, count - 1))];
+    }
+
+    /**
+     * Computes the maximum of the rolling samples for {@code phase}.
+     *
+     * @param phase The phase, or {@code null} for the total tick time.
+     * @return The maximum, in nanoseconds.
+     */
+    public long max(Phase phase) {
+        return percentile(phase, 100);
+    }
+
+    /**
+     * Builds a per-phase breakdown of the current tick.
+     *
+     * @return The breakdown.
+     */
+    private String breakdown() {
+        StringBuilder sb = new StringBuilder("[");
+        for (Phase phase : Phase.ALL) {
+            sb.append(phase.name()).append('=').append(toMillis(current[phase.ordinal()])).append("ms");
+            if (phase.ordinal() < TOTAL - 1) {
+                sb.append(", ");
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    /**
+     * Builds a summary of the rolling p50/p99/max statistics for every phase.
+     *
+     * @return The summary.
+     */
+    private String summary() {
+        StringBuilder sb = new StringBuilder("Tick profile (last ").append(WINDOW_SIZE).append(" ticks, ")
+                .append(overruns).append(" overrun(s) total)");
+        for (Phase phase : Phase.ALL) {
+            appendStatistics(sb, phase.name(), phase);
+        }
+        appendStatistics(sb, "TOTAL", null);
+        return sb.toString();
+    }
+
+    /**
+     * Appends the statistics of a single phase to {@code sb}.
+     */
+    private void appendStatistics(StringBuilder sb, String name, Phase phase) {
+        sb.append(System.lineSeparator()).append("  ").append(name)
+                .append(": p50=").append(toMillis(percentile(phase, 50)))
+                .append("ms, p99=").append(toMillis(percentile(phase, 99)))
+                .append("ms, max=").append(toMillis(max(phase))).append("ms");
+    }
+
+    /**
+     * Converts {@code nanos} to milliseconds, rounded to two decimal places.
+     */
+    private static double toMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    /**
+     * @return If profiling is enabled.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return The amount of ticks that exceeded {@link #TICK_BUDGET}.
+     */
+    public long getOverruns() {
+        return overruns;
+    }
+
+    /**
+     * @return The amount of ticks recorded.
+     */
+    public long getTicks() {
+        return ticks;
+    }
+}
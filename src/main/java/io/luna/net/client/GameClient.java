@@ -7,6 +7,8 @@ import io.luna.net.msg.GameMessageRepository;
 import io.luna.net.msg.GameMessageWriter;
 import io.netty.channel.Channel;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.ArrayBlockingQueue;
 
@@ -20,7 +22,20 @@ public class GameClient extends Client<GameMessage> {
     /**
      * The decoded packets.
      */
-    private final Queue<GameMessage> decodedMessages = new ArrayBlockingQueue<>(15);
+    private final Queue<GameMessage> decodedMessages;
+
+    /**
+     * The encoded messages staged for the next flush. Not synchronized, as it's only accessed by the game thread and
+     * by the synchronization thread updating this client's player. Synchronization threads only run while the game
+     * thread is waiting on the synchronization phaser, which orders their accesses with the game thread's. Netty's
+     * threads never see this list, flushed messages are handed to them in a new list.
+     */
+    private List<GameMessage> pendingMessages = new ArrayList<>();
+
+    /**
+     * If the last flush has been done.
+     */
+    private boolean flushedLast;
 
     /**
      * The message repository.
@@ -37,15 +52,18 @@ public class GameClient extends Client<GameMessage> {
      *
      * @param channel The client's channel.
      * @param repository The message repository.
+     * @param decodedMessageLimit The maximum amount of decoded packets waiting to be handled.
      */
-    public GameClient(Channel channel, GameMessageRepository repository) {
+    public GameClient(Channel channel, GameMessageRepository repository, int decodedMessageLimit) {
         super(channel);
         this.repository = repository;
+        decodedMessages = new ArrayBlockingQueue<>(decodedMessageLimit);
     }
 
     @Override
     public void onInactive() {
         setPendingLogout(true);
+        releaseDecodedMessages();
     }
 
     @Override
@@ -55,6 +73,20 @@ public class GameClient extends Client<GameMessage> {
         }
     }
 
+    /**
+     * Releases every decoded message that hasn't been handled yet. Their payloads are slices of the channel's
+     * cumulation buffer, and would otherwise keep it from being deallocated.
+     */
+    private void releaseDecodedMessages() {
+        for (; ; ) {
+            var msg = decodedMessages.poll();
+            if (msg == null) {
+                break;
+            }
+            msg.getPayload().releaseAll();
+        }
+    }
+
     /**
      * Handles decoded game packets and posts their created events to all applicable plugin listeners.
      * Fires a region update afterwards, if needed.
@@ -72,25 +104,49 @@ public class GameClient extends Client<GameMessage> {
     }
 
     /**
-     * Enqueues an encoded message to the underlying channel; The channel is not flushed until the
-     * end of the current game cycle.
+     * Encodes and stages a message to be sent on the next {@link #flush()}. Messages are not handed to the channel
+     * until the end of the current game cycle. Only the game thread, or a synchronization thread holding the player's
+     * lock, should queue messages. Messages queued after {@link #flushLast()} or once the channel is inactive are
+     * dropped without being encoded.
      *
      * @param msg The message to queue.
      */
     public void queue(GameMessageWriter msg, Player player) {
-        if (channel.isActive()) {
-            channel.write(msg.toGameMsg(player), channel.voidPromise());
+        if (!flushedLast && channel.isActive()) {
+            pendingMessages.add(msg.toGameMsg(player));
         }
     }
 
     /**
-     * Flushes the underlying channel. This will send all messages to the client queued using
-     * {@link #queue(GameMessageWriter, Player)}. Calls to this method are expensive and should be done sparingly.
+     * Hands every staged message to the channel in a single event loop task, followed by a single flush. This will
+     * send all messages to the client queued using {@link #queue(GameMessageWriter, Player)}. Should only be called
+     * once per client at the end of each game cycle.
      */
     public void flush() {
-        if (channel.isActive()) {
-            channel.flush();
+        if (pendingMessages.isEmpty()) {
+            return;
+        }
+        List<GameMessage> messages = pendingMessages;
+        pendingMessages = new ArrayList<>(messages.size());
+        if (!channel.isActive()) {
+            messages.forEach(msg -> msg.getPayload().releaseAll());
+            return;
         }
+        channel.eventLoop().execute(() -> {
+            for (GameMessage msg : messages) {
+                channel.write(msg, channel.voidPromise());
+            }
+            channel.flush();
+        });
+    }
+
+    /**
+     * Flushes the staged messages for the last time. Called once the player has been removed from the world, as
+     * nothing would flush messages staged afterwards and their buffers would never be released.
+     */
+    public void flushLast() {
+        flush();
+        flushedLast = true;
     }
 
     /**
@@ -1,6 +1,8 @@
 package io.luna.net.client;
 
+import io.luna.Luna;
 import io.luna.LunaContext;
+import io.luna.LunaSettings.NetworkSettings;
 import io.luna.game.model.World;
 import io.luna.game.model.mob.Player;
 import io.luna.game.model.mob.PlayerCredentials;
@@ -9,14 +11,19 @@ import io.luna.game.service.LoginService;
 import io.luna.game.service.LoginService.LoginRequest;
 import io.luna.net.codec.game.GameMessageDecoder;
 import io.luna.net.codec.game.GameMessageEncoder;
+import io.luna.net.codec.game.MessageBudget;
 import io.luna.net.codec.login.LoginRequestMessage;
 import io.luna.net.codec.login.LoginResponse;
 import io.luna.net.codec.login.LoginResponseMessage;
 import io.luna.net.msg.GameMessageRepository;
+import io.luna.net.msg.MessageCategory;
+import io.luna.util.TokenBucket;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFutureListener;
 import org.mindrot.jbcrypt.BCrypt;
 
+import java.util.EnumMap;
+
 /**
  * A {@link Client} implementation model representing login protocol I/O communications.
  *
@@ -117,7 +124,8 @@ public class LoginClient extends Client<LoginRequestMessage> {
             sendLoginResponse(player, LoginResponse.ACCOUNT_ONLINE);
             return false;
         } else {
-            var gameClient = new GameClient(channel, messageRepository);
+            var network = Luna.settings().network();
+            var gameClient = new GameClient(channel, messageRepository, network.decodedMessageLimit());
             channel.attr(KEY).set(gameClient);
             player.setClient(gameClient);
 
@@ -126,10 +134,25 @@ public class LoginClient extends Client<LoginRequestMessage> {
 
             var pipeline = channel.pipeline();
             var messageEncoder = new GameMessageEncoder(message.getEncryptor());
-            var messageDecoder = new GameMessageDecoder(message.getDecryptor(), messageRepository);
+            var messageDecoder = new GameMessageDecoder(message.getDecryptor(), messageRepository,
+                    createMessageBudget(network));
             pipeline.replace("login-encoder", "game-encoder", messageEncoder);
             pipeline.replace("login-decoder", "game-decoder", messageDecoder);
             return true;
         }
     }
+
+    /**
+     * Creates a new inbound message budget for this client, from the {@code [network.messageBudgets]} settings.
+     *
+     * @param network The network settings.
+     * @return The message budget.
+     */
+    private MessageBudget createMessageBudget(NetworkSettings network) {
+        long now = System.nanoTime();
+        var buckets = new EnumMap<MessageCategory, TokenBucket>(MessageCategory.class);
+        network.messageBudgets().forEach((category, budget) ->
+                buckets.put(category, new TokenBucket(budget.rate(), budget.burst(), now)));
+        return new MessageBudget(buckets, network.rejectedMessageLimit());
+    }
 }
\ No newline at end of file
@@ -19,11 +19,6 @@ public final class ByteMessage extends DefaultByteBufHolder {
      */
     private static final int DEFAULT_SIZE = 128;
 
-    /**
-     * An array of bit masks.
-     */
-    private static final int[] BIT_MASK = new int[32];
-
     /**
      * Creates a {@link ByteMessage} used to read and encode raw messages.
      *
@@ -109,16 +104,20 @@ public final class ByteMessage extends DefaultByteBufHolder {
     private final MessageType type;
 
     /**
-     * The current bit index.
+     * If this buffer is in bit access mode.
      */
-    private int bitIndex = -1;
+    private boolean bitAccess;
 
-    static {
-        // Initialize bit masks.
-        for (int i = 0; i < BIT_MASK.length; i++) {
-            BIT_MASK[i] = (1 << i) - 1;
-        }
-    }
+    /**
+     * The bits written in bit access mode that haven't been flushed to the backing buffer yet. Only the lowest
+     * {@link #bitCount} bits are valid.
+     */
+    private long bitBuffer;
+
+    /**
+     * The amount of bits in {@link #bitBuffer}.
+     */
+    private int bitCount;
 
     /**
      * Creates a new {@link ByteMessage}.
@@ -164,19 +163,29 @@ public final class ByteMessage extends DefaultByteBufHolder {
      * Prepares the buffer for writing bits.
      */
     public void startBitAccess() {
-        checkState(bitIndex == -1, "This ByteMessage instance is already in bit access mode.");
+        checkState(!bitAccess, "This ByteMessage instance is already in bit access mode.");
 
-        bitIndex = buf.writerIndex() << 3;
+        bitAccess = true;
+        bitBuffer = 0;
+        bitCount = 0;
     }
 
     /**
-     * Prepares the buffer for writing bytes.
+     * Prepares the buffer for writing bytes. Any remaining bits are flushed, padded with zeros to a full byte.
      */
     public void endBitAccess() {
-        checkState(bitIndex != -1, "This ByteMessage instance is not in bit access mode.");
+        checkState(bitAccess, "This ByteMessage instance is not in bit access mode.");
 
-        buf.writerIndex((bitIndex + 7) >> 3);
-        bitIndex = -1;
+        while (bitCount >= 8) {
+            bitCount -= 8;
+            buf.writeByte((int) (bitBuffer >>> bitCount));
+        }
+        if (bitCount > 0) {
+            buf.writeByte((int) (bitBuffer << (8 - bitCount)));
+        }
+        bitAccess = false;
+        bitBuffer = 0;
+        bitCount = 0;
     }
 
     /**
@@ -234,37 +243,14 @@ public final class ByteMessage extends DefaultByteBufHolder {
      */
     public ByteMessage putBits(int amount, int value) {
         checkState(amount >= 1 && amount <= 32, "Number of bits must be between 1 and 32 inclusive.");
-
-        int bytePos = bitIndex >> 3;
-        int bitOffset = 8 - (bitIndex & 7);
-
-        bitIndex = bitIndex + amount;
-
-        int requiredSpace = bytePos - buf.writerIndex() + 1;
-        requiredSpace += (amount + 7) / 8;
-
-        if (buf.writableBytes() < requiredSpace) {
-            buf.capacity(buf.capacity() + requiredSpace);
-        }
-
-        for (; amount > bitOffset; bitOffset = 8) {
-            byte tmp = buf.getByte(bytePos);
-            tmp &= ~BIT_MASK[bitOffset];
-            tmp |= (value >> (amount - bitOffset)) & BIT_MASK[bitOffset];
-            buf.setByte(bytePos++, tmp);
-            amount -= bitOffset;
-        }
-
-        if (amount == bitOffset) {
-            byte tmp = buf.getByte(bytePos);
-            tmp &= ~BIT_MASK[bitOffset];
-            tmp |= value & BIT_MASK[bitOffset];
-            buf.setByte(bytePos, tmp);
-        } else {
-            byte tmp = buf.getByte(bytePos);
-            tmp &= ~(BIT_MASK[amount] << (bitOffset - amount));
-            tmp |= (value & BIT_MASK[amount]) << (bitOffset - amount);
-            buf.setByte(bytePos, tmp);
+        checkState(bitAccess, "This ByteMessage instance is not in bit access mode.");
+
+        // Accumulate bits in a register, and only flush them once a full word is available.
+        bitBuffer = bitBuffer << amount | value & ((1L << amount) - 1);
+        bitCount += amount;
+        if (bitCount >= 32) {
+            bitCount -= 32;
+            buf.writeInt((int) (bitBuffer >>> bitCount));
         }
         return this;
     }
@@ -9,11 +9,17 @@ import io.luna.net.msg.GameMessageRepository;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
 import io.netty.channel.ChannelHandlerContext;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import static com.google.common.base.Preconditions.checkState;
+import static org.apache.logging.log4j.util.Unbox.box;
 
 /**
- * A {@link ProgressiveMessageDecoder} implementation that decodes game messages.
+ * A {@link ProgressiveMessageDecoder} implementation that decodes game messages. Payloads are retained slices of the
+ * cumulation buffer, so they must always be released once handled or discarded. Every message is checked against the
+ * client's {@link MessageBudget} as soon as its opcode is decoded, messages over budget are skipped without their
+ * payload ever being buffered.
  *
  * @author lare96 <http://github.org/lare96>
  */
@@ -28,6 +34,11 @@ public final class GameMessageDecoder extends ProgressiveMessageDecoder<GameMess
         PAYLOAD
     }
 
+    /**
+     * The asynchronous logger.
+     */
+    private static final Logger logger = LogManager.getLogger();
+
     /**
      * The decryptor.
      */
@@ -38,6 +49,11 @@ public final class GameMessageDecoder extends ProgressiveMessageDecoder<GameMess
      */
     private final GameMessageRepository repository;
 
+    /**
+     * The inbound message budget.
+     */
+    private final MessageBudget budget;
+
     /**
      * The current opcode.
      */
@@ -53,26 +69,41 @@ public final class GameMessageDecoder extends ProgressiveMessageDecoder<GameMess
      */
     private MessageType type = MessageType.RAW;
 
+    /**
+     * If the current message was rejected for being over budget.
+     */
+    private boolean rejected;
+
+    /**
+     * If the client exceeded its budget and is being disconnected.
+     */
+    private boolean disconnecting;
+
     /**
      * Creates a new {@link GameMessageDecoder}.
      *
      * @param decryptor The decryptor.
      * @param repository The message repository.
+     * @param budget The inbound message budget.
      */
-    public GameMessageDecoder(IsaacCipher decryptor, GameMessageRepository repository) {
+    public GameMessageDecoder(IsaacCipher decryptor, GameMessageRepository repository, MessageBudget budget) {
         super(DecodeState.OPCODE);
         this.decryptor = decryptor;
         this.repository = repository;
+        this.budget = budget;
     }
 
     @Override
     protected Object decodeMsg(ChannelHandlerContext ctx, ByteBuf in, DecodeState state) {
+        if (disconnecting) {
+            in.skipBytes(in.readableBytes());
+            return null;
+        }
         switch (state) {
             case OPCODE:
-                return opcode(in);
+                return opcode(ctx, in);
             case SIZE:
-                size(in);
-                break;
+                return size(in);
             case PAYLOAD:
                 return payload(in);
         }
@@ -84,15 +115,17 @@ public final class GameMessageDecoder extends ProgressiveMessageDecoder<GameMess
         opcode = -1;
         size = -1;
         type = MessageType.RAW;
+        rejected = false;
     }
 
     /**
      * Decodes the opcode.
      *
+     * @param ctx The channel handler context.
      * @param in The buffer to read from.
      * @return The decoded game message.
      */
-    private Object opcode(ByteBuf in) {
+    private Object opcode(ChannelHandlerContext ctx, ByteBuf in) {
         if (in.isReadable()) {
 
             // Decode the message opcode.
@@ -101,11 +134,28 @@ public final class GameMessageDecoder extends ProgressiveMessageDecoder<GameMess
 
             // Handle the message size.
             size = repository.getSize(opcode);
+
+            // Reject the message early if it's over budget.
+            if (!budget.tryAcquire(repository.getCategory(opcode), System.nanoTime())) {
+                rejected = true;
+                if (budget.isExceeded()) {
+                    logger.warn("{} exceeded its inbound message budget ({} rejected), disconnecting.",
+                            ctx.channel().remoteAddress(), box(budget.getTotalRejected()));
+                    disconnecting = true;
+                    in.skipBytes(in.readableBytes());
+                    ctx.close();
+                    return null;
+                }
+            }
             switch (size) {
 
                 // No size, don't have to decode size or payload.
                 case 0:
                     type = MessageType.FIXED;
+                    if (rejected) {
+                        reset();
+                        return null;
+                    }
                     return createDecodedMessage(Unpooled.EMPTY_BUFFER);
 
                 // Variable sized packet.
@@ -135,8 +185,9 @@ public final class GameMessageDecoder extends ProgressiveMessageDecoder<GameMess
      * Decodes the size.
      *
      * @param in The buffer to read from.
+     * @return The decoded game message, if it has no payload.
      */
-    private void size(ByteBuf in) {
+    private Object size(ByteBuf in) {
         int bytes = size == -1 ? Byte.BYTES : Short.BYTES;
         if (in.isReadable(bytes)) {
 
@@ -146,9 +197,19 @@ public final class GameMessageDecoder extends ProgressiveMessageDecoder<GameMess
                 size |= in.readUnsignedByte() << 8 * (bytes - 1 - i);
             }
 
+            // A message without a payload is done, there would be nothing to read in the payload state.
+            if (size == 0) {
+                if (rejected) {
+                    reset();
+                    return null;
+                }
+                return createDecodedMessage(Unpooled.EMPTY_BUFFER);
+            }
+
             // Set the new checkpoint state.
             checkpoint(DecodeState.PAYLOAD);
         }
+        return null;
     }
 
     /**
@@ -158,11 +219,23 @@ public final class GameMessageDecoder extends ProgressiveMessageDecoder<GameMess
      * @return The decoded game message.
      */
     private Object payload(ByteBuf in) {
+        if (rejected) {
+
+            // Skip the payload as it arrives, rather than waiting for all of it to be buffered.
+            int skipped = Math.min(size, in.readableBytes());
+            in.skipBytes(skipped);
+            size -= skipped;
+            if (size == 0) {
+                reset();
+            }
+            return null;
+        }
         if (in.isReadable(size)) {
 
-            // Create payload using decoded size.
-            ByteBuf newBuffer = in.readBytes(size);
-            return createDecodedMessage(newBuffer);
+            // Slice the payload out of the cumulation buffer rather than copying it. The retained slice must be
+            // released by whoever consumes the message, see GameMessageReader#postEvent.
+            ByteBuf payload = in.readRetainedSlice(size);
+            return createDecodedMessage(payload);
         }
         return null;
     }
@@ -5,14 +5,18 @@ import io.luna.net.codec.MessageType;
 import io.luna.net.msg.GameMessage;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.MessageToByteEncoder;
+import io.netty.handler.codec.MessageToMessageEncoder;
+
+import java.util.List;
 
 /**
- * A {@link MessageToByteEncoder} implementation that encodes game messages.
+ * A {@link MessageToMessageEncoder} implementation that encodes game messages. Only the small encrypted header is
+ * written into a new buffer, the already built payload buffer is passed along behind it as is instead of being
+ * copied. Ownership of the payload is transferred to the pipeline, which releases it once it's been written.
  *
  * @author lare96 <http://github.org/lare96>
  */
-public final class GameMessageEncoder extends MessageToByteEncoder<GameMessage> {
+public final class GameMessageEncoder extends MessageToMessageEncoder<GameMessage> {
 
     /**
      * The encryptor.
@@ -29,16 +33,25 @@ public final class GameMessageEncoder extends MessageToByteEncoder<GameMessage>
     }
 
     @Override
-    public void encode(ChannelHandlerContext ctx, GameMessage msg, ByteBuf out) throws Exception {
+    public void encode(ChannelHandlerContext ctx, GameMessage msg, List<Object> out) throws Exception {
+        ByteBuf payload = msg.getPayload().getBuffer();
         try {
-            out.writeByte(msg.getOpcode() + encryptor.nextInt());
+            ByteBuf header = ctx.alloc().buffer(3, 3);
+            header.writeByte(msg.getOpcode() + encryptor.nextInt());
             if (msg.getType() == MessageType.VAR) {
-                out.writeByte(msg.getSize());
+                header.writeByte(msg.getSize());
             } else if (msg.getType() == MessageType.VAR_SHORT) {
-                out.writeShort(msg.getSize());
+                header.writeShort(msg.getSize());
             }
-            out.writeBytes(msg.getPayload().getBuffer());
-        } finally {
+            out.add(header);
+        } catch (Exception e) {
+            msg.getPayload().releaseAll();
+            throw e;
+        }
+
+        if (payload.isReadable()) {
+            out.add(payload);
+        } else {
             msg.getPayload().releaseAll();
         }
     }
@@ -0,0 +1,112 @@
+package io.luna.net.codec.game;
+
+import io.luna.net.msg.MessageCategory;
+import io.luna.util.TokenBucket;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A model representing the inbound message budget of a single client. Every {@link MessageCategory} can be limited by
+ * its own {@link TokenBucket}, and messages that exceed it are counted as rejected. Clients that keep sending messages
+ * over budget are flagged so they can be disconnected.
+ * <p>
+ * This class is <strong>not</strong> thread safe, it should only be used by the client's {@link GameMessageDecoder}.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class MessageBudget {
+
+    /**
+     * The window rejections are counted over, in nanoseconds.
+     */
+    static final long REJECTION_WINDOW = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * The token buckets, indexed by category. A {@code null} bucket means the category is unlimited.
+     */
+    private final TokenBucket[] buckets = new TokenBucket[MessageCategory.values().length];
+
+    /**
+     * The total amount of rejected messages, indexed by category.
+     */
+    private final long[] rejected = new long[buckets.length];
+
+    /**
+     * The amount of rejected messages within one window at which the client should be disconnected, or {@code 0} to
+     * never disconnect.
+     */
+    private final int rejectionLimit;
+
+    /**
+     * The start of the current rejection window, in nanoseconds.
+     */
+    private long windowStart;
+
+    /**
+     * The amount of rejected messages within the current window.
+     */
+    private int windowRejections;
+
+    /**
+     * Creates a new {@link MessageBudget}.
+     *
+     * @param buckets The token buckets. Categories without a bucket are unlimited.
+     * @param rejectionLimit The amount of rejected messages within one second at which the client should be
+     * disconnected, or {@code 0} to never disconnect.
+     */
+    public MessageBudget(Map<MessageCategory, TokenBucket> buckets, int rejectionLimit) {
+        buckets.forEach((category, bucket) -> this.buckets[category.ordinal()] = bucket);
+        this.rejectionLimit = rejectionLimit;
+    }
+
+    /**
+     * Attempts to spend one message from the budget of {@code category}.
+     *
+     * @param category The message category.
+     * @param now The current time, in nanoseconds.
+     * @return {@code true} if the message is within budget, {@code false} if it should be rejected.
+     */
+    public boolean tryAcquire(MessageCategory category, long now) {
+        int index = category.ordinal();
+        TokenBucket bucket = buckets[index];
+        if (bucket == null || bucket.tryTake(now)) {
+            return true;
+        }
+        rejected[index]++;
+        if (windowRejections == 0 || now - windowStart >= REJECTION_WINDOW) {
+            windowStart = now;
+            windowRejections = 0;
+        }
+        windowRejections++;
+        return false;
+    }
+
+    /**
+     * @return {@code true} if enough messages were rejected within the current window to disconnect the client.
+     */
+    public boolean isExceeded() {
+        return rejectionLimit > 0 && windowRejections >= rejectionLimit;
+    }
+
+    /**
+     * Retrieves the total amount of rejected messages for {@code category}.
+     *
+     * @param category The message category.
+     * @return The amount of rejected messages.
+     */
+    public long getRejected(MessageCategory category) {
+        return rejected[category.ordinal()];
+    }
+
+    /**
+     * @return The total amount of rejected messages across all categories.
+     */
+    public long getTotalRejected() {
+        long total = 0;
+        for (long count : rejected) {
+            total += count;
+        }
+        return total;
+    }
+}
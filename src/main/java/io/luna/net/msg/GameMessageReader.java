@@ -31,6 +31,11 @@ public abstract class GameMessageReader {
      */
     protected final int size;
 
+    /**
+     * The category, used to look up the inbound budget.
+     */
+    protected final MessageCategory category;
+
     /**
      * Creates a new {@link GameMessageReader}.
      */
@@ -38,11 +43,13 @@ public abstract class GameMessageReader {
         // These values are injected using reflection.
         opcode = 0;
         size = 0;
+        category = MessageCategory.OTHER;
     }
 
     /**
      * Reads a decoded game message and posts an {@link Event} containing the decoded data. A return
-     * value of {@code null} indicates that no event needs to be posted.
+     * value of {@code null} indicates that no event needs to be posted. The payload is only valid for the duration of
+     * this call, implementations must copy any data they need to keep rather than holding onto the buffer.
      *
      * @param player The player.
      * @param msg The decoded message.
@@ -51,7 +58,8 @@ public abstract class GameMessageReader {
     public abstract Event read(Player player, GameMessage msg) throws Exception; // TODO add another method for listeners that don't decode directly into an event
 
     /**
-     * Handles a decoded game message and posts its returned {@link Event}.
+     * Handles a decoded game message and posts its returned {@link Event}. The message payload is always released
+     * once this returns, regardless of whether reading it succeeded.
      *
      * @param player The player.
      * @param msg The decoded game message.
@@ -98,4 +106,11 @@ public abstract class GameMessageReader {
     public final int getSize() {
         return size;
     }
+
+    /**
+     * @return The category.
+     */
+    public final MessageCategory getCategory() {
+        return category;
+    }
 }
@@ -58,6 +58,16 @@ public final class GameMessageRepository implements Iterable<GameMessageReader>
         return get(opcode).getSize();
     }
 
+    /**
+     * Retrieves the category from a message reader.
+     *
+     * @param opcode The opcode of the category to retrieve.
+     * @return The category of a message.
+     */
+    public MessageCategory getCategory(int opcode) {
+        return get(opcode).getCategory();
+    }
+
     /**
      * Locks this repository, making it read-only. Has no effect if already locked.
      */
@@ -0,0 +1,35 @@
+package io.luna.net.msg;
+
+/**
+ * An enumerated type whose elements represent the categories incoming game messages are grouped into. Each category
+ * has its own inbound budget, so that spamming one kind of message can't starve the others.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+public enum MessageCategory {
+
+    /**
+     * Walking messages.
+     */
+    MOVEMENT,
+
+    /**
+     * Messages that interact with entities or items, such as clicking an npc or dropping an item.
+     */
+    INTERACTION,
+
+    /**
+     * Public chat, private chat, and command messages.
+     */
+    CHAT,
+
+    /**
+     * Messages sent from interfaces, such as button clicks and input dialogues.
+     */
+    INTERFACE,
+
+    /**
+     * Every other message, such as idle, focus, and camera messages.
+     */
+    OTHER
+}
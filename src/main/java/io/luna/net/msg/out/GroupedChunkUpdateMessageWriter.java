@@ -0,0 +1,80 @@
+package io.luna.net.msg.out;
+
+import io.luna.game.model.Position;
+import io.luna.game.model.mob.Player;
+import io.luna.net.codec.ByteMessage;
+import io.luna.net.codec.MessageType;
+import io.luna.net.codec.ValueType;
+import io.luna.net.msg.GameMessageWriter;
+import io.netty.buffer.ByteBufUtil;
+
+import java.util.List;
+
+/**
+ * A {@link GameMessageWriter} implementation that marks a chunk and applies multiple updates to it at once. Only
+ * chunk-relative updates (such as adding or removing objects and ground items) can be grouped. Updates are
+ * pre-encoded using {@link #encode(List, Player)}, so the same bytes can be shared by every player that sees a chunk.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class GroupedChunkUpdateMessageWriter extends GameMessageWriter {
+
+    /**
+     * The absolute position of the chunk to mark.
+     */
+    private final Position chunkPosition;
+
+    /**
+     * The encoded updates to apply.
+     */
+    private final List<byte[]> updates;
+
+    /**
+     * Creates a new {@link GroupedChunkUpdateMessageWriter}.
+     *
+     * @param chunkPosition The absolute position of the chunk to mark.
+     * @param updates The encoded updates to apply.
+     */
+    public GroupedChunkUpdateMessageWriter(Position chunkPosition, List<byte[]> updates) {
+        this.chunkPosition = chunkPosition;
+        this.updates = updates;
+    }
+
+    @Override
+    public ByteMessage write(Player player) {
+        ByteMessage msg = ByteMessage.message(60, MessageType.VAR_SHORT);
+        Position region = player.getLastRegion();
+        msg.put(chunkPosition.getLocalY(region));
+        msg.put(chunkPosition.getLocalX(region), ValueType.NEGATE);
+        for (byte[] update : updates) {
+            msg.putBytes(update);
+        }
+        return msg;
+    }
+
+    /**
+     * Encodes {@code updates} into the format expected by this message. Chunk-relative updates don't depend on the
+     * player they're written for, so the result can be sent to any player.
+     *
+     * @param updates The updates to encode.
+     * @param player The player to write the updates with.
+     * @return The encoded updates.
+     */
+    public static byte[] encode(List<GameMessageWriter> updates, Player player) {
+        ByteMessage msg = ByteMessage.raw();
+        try {
+            for (GameMessageWriter update : updates) {
+                ByteMessage updateMsg = update.write(player);
+                try {
+                    msg.put(updateMsg.getOpcode());
+                    msg.putBytes(updateMsg);
+                } finally {
+                    updateMsg.release();
+                }
+            }
+            return ByteBufUtil.getBytes(msg.getBuffer());
+        } finally {
+            msg.release();
+        }
+    }
+}
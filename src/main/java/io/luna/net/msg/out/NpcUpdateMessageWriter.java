@@ -1,7 +1,9 @@
 package io.luna.net.msg.out;
 
 import io.luna.game.model.Direction;
+import io.luna.game.model.EntityConstants;
 import io.luna.game.model.EntityState;
+import io.luna.game.model.EntityType;
 import io.luna.game.model.chunk.ChunkManager;
 import io.luna.game.model.mob.Npc;
 import io.luna.game.model.mob.Player;
@@ -11,8 +13,10 @@ import io.luna.game.model.mob.block.UpdateState;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.MessageType;
 import io.luna.net.msg.GameMessageWriter;
+import io.netty.buffer.ByteBufUtil;
 
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * A {@link GameMessageWriter} implementation that sends an NPC update message.
@@ -21,6 +25,28 @@ import java.util.Iterator;
  */
 public final class NpcUpdateMessageWriter extends GameMessageWriter {
 
+    /**
+     * The precomputed payloads sent to idle viewers, indexed by local NPC count.
+     */
+    private static final byte[][] IDLE_PAYLOADS = new byte[EntityConstants.MAX_LOCAL_MOBS + 1][];
+
+    static {
+        for (int count = 0; count < IDLE_PAYLOADS.length; count++) {
+            ByteMessage msg = ByteMessage.raw();
+            try {
+                msg.startBitAccess();
+                msg.putBits(8, count);
+                for (int index = 0; index < count; index++) {
+                    msg.putBit(false);
+                }
+                msg.endBitAccess();
+                IDLE_PAYLOADS[count] = ByteBufUtil.getBytes(msg.getBuffer());
+            } finally {
+                msg.release();
+            }
+        }
+    }
+
     /**
      * The NPC update block set.
      */
@@ -28,18 +54,35 @@ public final class NpcUpdateMessageWriter extends GameMessageWriter {
 
     @Override
     public ByteMessage write(Player player) {
+        if (isIdle(player)) {
+            // Nothing visible has changed, so nothing needs to be encoded.
+            ByteMessage msg = ByteMessage.message(65, MessageType.VAR_SHORT);
+            msg.putBytes(IDLE_PAYLOADS[player.getLocalNpcs().size()]);
+            return msg;
+        }
+        return writeUpdate(player);
+    }
+
+    /**
+     * Encodes a full NPC update for {@code player}, without checking if the idle payload could be used instead.
+     *
+     * @param player The player.
+     * @return The encoded update.
+     */
+    ByteMessage writeUpdate(Player player) {
         ByteMessage msg = ByteMessage.message(65, MessageType.VAR_SHORT);
         ByteMessage blockMsg = ByteMessage.raw();
 
         try {
             msg.startBitAccess();
             msg.putBits(8, player.getLocalNpcs().size());
+            boolean wasFull = player.getLocalNpcs().size() == EntityConstants.MAX_LOCAL_MOBS;
 
             Iterator<Npc> iterator = player.getLocalNpcs().iterator();
             while (iterator.hasNext()) {
                 Npc other = iterator.next();
 
-                if (other.isViewableFrom(player) &&
+                if (player.canView(other) &&
                         other.getState() == EntityState.ACTIVE) {
                     handleMovement(other, msg);
                     blockSet.encode(other, blockMsg, UpdateState.UPDATE_LOCAL);
@@ -51,20 +94,17 @@ public final class NpcUpdateMessageWriter extends GameMessageWriter {
             }
 
             ChunkManager chunks = player.getWorld().getChunks();
-            int npcsAdded = 0;
-
-            for (Npc other : chunks.getUpdateNpcs(player)) {
-                if (npcsAdded == 15 || player.getLocalNpcs().size() >= 255) {
-                    break;
-                }
-                if (other.isViewableFrom(player) &&
-                        other.getState() == EntityState.ACTIVE &&
-                        player.getLocalNpcs().add(other)) {
-                    addNpc(player, other, msg);
-                    blockSet.encode(other, blockMsg, UpdateState.ADD_LOCAL);
-                    npcsAdded++;
-                }
+            int addLimit = Math.min(15, EntityConstants.MAX_LOCAL_MOBS - player.getLocalNpcs().size());
+
+            // NPCs may have been left out while the list was full, so search again if room was freed up.
+            boolean search = hasCandidates(player) || wasFull && addLimit > 0;
+            List<Npc> addNpcs = search ? chunks.getUpdateNpcs(player, addLimit) : List.of();
+            for (Npc other : addNpcs) {
+                player.getLocalNpcs().add(other);
+                addNpc(player, other, msg);
+                blockSet.encode(other, blockMsg, UpdateState.ADD_LOCAL);
             }
+            player.setPendingLocalNpcs(addLimit > 0 && addNpcs.size() == addLimit);
 
             if (blockMsg.getBuffer().writerIndex() > 0) {
                 msg.putBits(14, 16383);
@@ -82,6 +122,43 @@ public final class NpcUpdateMessageWriter extends GameMessageWriter {
         return msg;
     }
 
+    /**
+     * Determines if {@code player} is an idle viewer. An idle viewer isn't moving, none of its local NPCs have any
+     * movement or update blocks, and no NPCs could be added to its local NPC list.
+     *
+     * @param player The player.
+     * @return {@code true} if the player is an idle viewer.
+     */
+    boolean isIdle(Player player) {
+        if (hasCandidates(player)) {
+            return false;
+        }
+        for (Npc other : player.getLocalNpcs()) {
+            if (other.getState() != EntityState.ACTIVE || !player.canView(other) ||
+                    !other.getFlags().isEmpty() || other.getWalkingDirection() != Direction.NONE) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines if there may be NPCs that could be added to the local NPC list of {@code player}. There can only be
+     * new candidates if {@code player} moved, if some were left over last tick, or if NPCs entered, left, or moved
+     * within the chunks {@code player} is subscribed to.
+     *
+     * @param player The player.
+     * @return {@code true} if the surroundings of the player need to be searched.
+     */
+    private boolean hasCandidates(Player player) {
+        if (player.getWalkingDirection() != Direction.NONE || player.isTeleporting() || player.isRegionChanged()) {
+            // Idle NPCs can come into viewing distance without any activity in the subscribed chunks.
+            return true;
+        }
+        long tick = player.getWorld().getCurrentTick();
+        return player.hasPendingLocalNpcs() || !player.getSubscriptions().isQuiescent(EntityType.NPC, tick);
+    }
+
     /**
      * Adds {@code addNpc} in the view of {@code player}.
      */
@@ -1,7 +1,9 @@
 package io.luna.net.msg.out;
 
 import io.luna.game.model.Direction;
+import io.luna.game.model.EntityConstants;
 import io.luna.game.model.EntityState;
+import io.luna.game.model.EntityType;
 import io.luna.game.model.Position;
 import io.luna.game.model.chunk.ChunkManager;
 import io.luna.game.model.mob.Player;
@@ -11,8 +13,10 @@ import io.luna.game.model.mob.block.UpdateState;
 import io.luna.net.codec.ByteMessage;
 import io.luna.net.codec.MessageType;
 import io.luna.net.msg.GameMessageWriter;
+import io.netty.buffer.ByteBufUtil;
 
 import java.util.Iterator;
+import java.util.List;
 
 /**
  * A {@link GameMessageWriter} implementation that sends a player update message.
@@ -21,6 +25,29 @@ import java.util.Iterator;
  */
 public final class PlayerUpdateMessageWriter extends GameMessageWriter {
 
+    /**
+     * The precomputed payloads sent to idle viewers, indexed by local player count.
+     */
+    private static final byte[][] IDLE_PAYLOADS = new byte[EntityConstants.MAX_LOCAL_MOBS + 1][];
+
+    static {
+        for (int count = 0; count < IDLE_PAYLOADS.length; count++) {
+            ByteMessage msg = ByteMessage.raw();
+            try {
+                msg.startBitAccess();
+                msg.putBit(false);
+                msg.putBits(8, count);
+                for (int index = 0; index < count; index++) {
+                    msg.putBit(false);
+                }
+                msg.endBitAccess();
+                IDLE_PAYLOADS[count] = ByteBufUtil.getBytes(msg.getBuffer());
+            } finally {
+                msg.release();
+            }
+        }
+    }
+
     /**
      * The player update block set.
      */
@@ -28,6 +55,22 @@ public final class PlayerUpdateMessageWriter extends GameMessageWriter {
 
     @Override
     public ByteMessage write(Player player) {
+        if (isIdle(player)) {
+            // Nothing visible has changed, so nothing needs to be encoded.
+            ByteMessage msg = ByteMessage.message(81, MessageType.VAR_SHORT);
+            msg.putBytes(IDLE_PAYLOADS[player.getLocalPlayers().size()]);
+            return msg;
+        }
+        return writeUpdate(player);
+    }
+
+    /**
+     * Encodes a full player update for {@code player}, without checking if the idle payload could be used instead.
+     *
+     * @param player The player.
+     * @return The encoded update.
+     */
+    ByteMessage writeUpdate(Player player) {
         ByteMessage msg = ByteMessage.message(81, MessageType.VAR_SHORT);
         ByteMessage blockMsg = ByteMessage.raw();
 
@@ -38,11 +81,12 @@ public final class PlayerUpdateMessageWriter extends GameMessageWriter {
             blockSet.encode(player, blockMsg, UpdateState.UPDATE_SELF);
 
             msg.putBits(8, player.getLocalPlayers().size());
+            boolean wasFull = player.getLocalPlayers().size() == EntityConstants.MAX_LOCAL_MOBS;
             Iterator<Player> iterator = player.getLocalPlayers().iterator();
             while (iterator.hasNext()) {
                 Player other = iterator.next();
 
-                if (other.isViewableFrom(player) && other.getState() == EntityState.ACTIVE && !other.isRegionChanged()) {
+                if (player.canView(other) && other.getState() == EntityState.ACTIVE && !other.isRegionChanged()) {
                     handleMovement(other, msg);
                     blockSet.encode(other, blockMsg, UpdateState.UPDATE_LOCAL);
                 } else {
@@ -53,22 +97,17 @@ public final class PlayerUpdateMessageWriter extends GameMessageWriter {
             }
 
             ChunkManager chunks = player.getWorld().getChunks();
-            int playersAdded = 0;
-
-            for (Player other : chunks.getUpdatePlayers(player)) {
-                if (playersAdded == 15 || player.getLocalPlayers().size() >= 255) {
-                    break;
-                }
-                if (player.equals(other) || other.getState() != EntityState.ACTIVE) {
-                    continue;
-                }
-
-                if (other.getPosition().isViewable(player.getPosition()) && player.getLocalPlayers().add(other)) {
-                    playersAdded++;
-                    addPlayer(msg, player, other);
-                    blockSet.encode(other, blockMsg, UpdateState.ADD_LOCAL);
-                }
+            int addLimit = Math.min(15, EntityConstants.MAX_LOCAL_MOBS - player.getLocalPlayers().size());
+
+            // Players may have been left out while the list was full, so search again if room was freed up.
+            boolean search = hasCandidates(player) || wasFull && addLimit > 0;
+            List<Player> addPlayers = search ? chunks.getUpdatePlayers(player, addLimit) : List.of();
+            for (Player other : addPlayers) {
+                player.getLocalPlayers().add(other);
+                addPlayer(msg, player, other);
+                blockSet.encode(other, blockMsg, UpdateState.ADD_LOCAL);
             }
+            player.setPendingLocalPlayers(addLimit > 0 && addPlayers.size() == addLimit);
 
             if (blockMsg.getBuffer().writerIndex() > 0) {
                 msg.putBits(11, 2047);
@@ -86,6 +125,50 @@ public final class PlayerUpdateMessageWriter extends GameMessageWriter {
         return msg;
     }
 
+    /**
+     * Determines if {@code player} is an idle viewer. An idle viewer has no movement or update blocks of its own,
+     * none of its local players have any either, and no players could be added to its local player list.
+     *
+     * @param player The player.
+     * @return {@code true} if the player is an idle viewer.
+     */
+    boolean isIdle(Player player) {
+        if (!isIdleMob(player) || hasCandidates(player)) {
+            return false;
+        }
+        for (Player other : player.getLocalPlayers()) {
+            if (other.getState() != EntityState.ACTIVE || !player.canView(other) || !isIdleMob(other)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Determines if there may be players that could be added to the local player list of {@code player}. There can
+     * only be new candidates if {@code player} moved, if some were left over last tick, or if players entered, left,
+     * or moved within the chunks {@code player} is subscribed to.
+     *
+     * @param player The player.
+     * @return {@code true} if the surroundings of the player need to be searched.
+     */
+    private boolean hasCandidates(Player player) {
+        if (player.getWalkingDirection() != Direction.NONE || player.isTeleporting() || player.isRegionChanged()) {
+            // Idle players can come into viewing distance without any activity in the subscribed chunks.
+            return true;
+        }
+        long tick = player.getWorld().getCurrentTick();
+        return player.hasPendingLocalPlayers() || !player.getSubscriptions().isQuiescent(EntityType.PLAYER, tick);
+    }
+
+    /**
+     * Determines if {@code player} has no movement or update blocks to send.
+     */
+    private boolean isIdleMob(Player player) {
+        return player.getFlags().isEmpty() && player.getWalkingDirection() == Direction.NONE &&
+                !player.isTeleporting() && !player.isRegionChanged();
+    }
+
     /**
      * Adds {@code addPlayer} in the view of {@code player}.
      */
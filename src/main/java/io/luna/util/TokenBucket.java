@@ -0,0 +1,81 @@
+package io.luna.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * A token bucket rate limiter. The bucket holds up to {@code burst} tokens and is refilled at a constant rate, each
+ * permitted action takes one token. This allows short bursts while bounding the average rate.
+ * <p>
+ * This class is <strong>not</strong> thread safe.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+public final class TokenBucket {
+
+    /**
+     * The amount of nanoseconds in a second.
+     */
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+    /**
+     * The amount of tokens refilled per second.
+     */
+    private final double rate;
+
+    /**
+     * The maximum amount of tokens.
+     */
+    private final int burst;
+
+    /**
+     * The current amount of tokens.
+     */
+    private double tokens;
+
+    /**
+     * The time of the last refill, in nanoseconds.
+     */
+    private long lastRefill;
+
+    /**
+     * Creates a new, full {@link TokenBucket}.
+     *
+     * @param rate The amount of tokens refilled per second.
+     * @param burst The maximum amount of tokens.
+     * @param now The current time, in nanoseconds.
+     */
+    public TokenBucket(double rate, int burst, long now) {
+        checkArgument(rate > 0, "rate must be positive");
+        checkArgument(burst > 0, "burst must be positive");
+        this.rate = rate;
+        this.burst = burst;
+        tokens = burst;
+        lastRefill = now;
+    }
+
+    /**
+     * Attempts to take a token from this bucket.
+     *
+     * @param now The current time, in nanoseconds.
+     * @return {@code true} if a token was taken, {@code false} if the bucket is empty.
+     */
+    public boolean tryTake(long now) {
+        long elapsed = now - lastRefill;
+        if (elapsed > 0) {
+            tokens = Math.min(burst, tokens + elapsed * rate / NANOS_PER_SECOND);
+            lastRefill = now;
+        }
+        if (tokens >= 1.0) {
+            tokens -= 1.0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return The maximum amount of tokens.
+     */
+    public int getBurst() {
+        return burst;
+    }
+}
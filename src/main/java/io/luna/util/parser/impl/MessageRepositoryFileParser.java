@@ -7,6 +7,7 @@ import io.luna.game.model.mob.Player;
 import io.luna.net.msg.GameMessage;
 import io.luna.net.msg.GameMessageReader;
 import io.luna.net.msg.GameMessageRepository;
+import io.luna.net.msg.MessageCategory;
 import io.luna.util.parser.AbstractJsonFileParser;
 
 import java.lang.reflect.Field;
@@ -54,7 +55,9 @@ public final class MessageRepositoryFileParser extends AbstractJsonFileParser<Ga
         int opcode = token.get("opcode").getAsInt();
         int size = token.get("size").getAsInt();
         String className = token.has("payload") ? token.get("payload").getAsString() : null;
-        return createReader(opcode, size, className);
+        MessageCategory category = token.has("category") ?
+                MessageCategory.valueOf(token.get("category").getAsString()) : MessageCategory.OTHER;
+        return createReader(opcode, size, category, className);
     }
 
     @Override
@@ -68,29 +71,33 @@ public final class MessageRepositoryFileParser extends AbstractJsonFileParser<Ga
      *
      * @param opcode The opcode.
      * @param size The size.
+     * @param category The category.
      * @param className The simple class name.
      * @return The message listener instance.
      * @throws ReflectiveOperationException If any errors occur while creating the listener instance.
      */
-    private GameMessageReader createReader(int opcode, int size, String className)
+    private GameMessageReader createReader(int opcode, int size, MessageCategory category, String className)
             throws ReflectiveOperationException {
 
         // Create class and instance from qualified name.
         Object readerInstance = className != null ?
                 Class.forName(DIR + className).getDeclaredConstructor().newInstance() : new DefaultMessageReader();
 
-        // Retrieve opcode and size fields.
+        // Retrieve opcode, size, and category fields.
         Class<?> readerClass = readerInstance.getClass().getSuperclass();
         Field opcodeField = readerClass.getDeclaredField("opcode");
         Field sizeField = readerClass.getDeclaredField("size");
+        Field categoryField = readerClass.getDeclaredField("category");
 
         // Make them accessible.
         opcodeField.setAccessible(true);
         sizeField.setAccessible(true);
+        categoryField.setAccessible(true);
 
         // Reflectively set the values.
         opcodeField.setInt(readerInstance, opcode);
         sizeField.setInt(readerInstance, size);
+        categoryField.set(readerInstance, category);
 
         return (GameMessageReader) readerInstance;
     }
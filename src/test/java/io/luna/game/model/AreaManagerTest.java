@@ -0,0 +1,101 @@
+package io.luna.game.model;
+
+import io.luna.game.model.mob.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link AreaManager}.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class AreaManagerTest {
+
+    /**
+     * An {@link Area} that counts its listener invocations.
+     */
+    private static final class CountingArea extends Area {
+
+        int enters;
+        int exits;
+        int moves;
+
+        CountingArea(int southWestX, int southWestY, int northEastX, int northEastY) {
+            super(southWestX, southWestY, northEastX, northEastY);
+        }
+
+        @Override
+        public void enter(Player player) {
+            enters++;
+        }
+
+        @Override
+        public void exit(Player player) {
+            exits++;
+        }
+
+        @Override
+        public void move(Player player) {
+            moves++;
+        }
+    }
+
+    AreaManager areas;
+
+    // The counting listeners never use the player.
+    Player player = null;
+
+    @BeforeEach
+    void initAreas() {
+        areas = new AreaManager(null);
+    }
+
+    @Test
+    void registerDuplicate() {
+        areas.register(new Area(3200, 3200, 3210, 3210));
+        assertThrows(IllegalStateException.class, () -> areas.register(new Area(3200, 3200, 3210, 3210)));
+    }
+
+    @Test
+    void enterMoveExitAcrossBuckets() {
+        // Spans the boundary between two buckets at x = 3200.
+        var area = new CountingArea(3190, 3190, 3205, 3205);
+        areas.register(area);
+
+        areas.notifyPositionChange(player, new Position(3180, 3195), new Position(3190, 3195));
+        areas.notifyPositionChange(player, new Position(3199, 3195), new Position(3200, 3195));
+        areas.notifyPositionChange(player, new Position(3205, 3195), new Position(3206, 3195));
+
+        assertEquals(1, area.enters);
+        assertEquals(1, area.moves);
+        assertEquals(1, area.exits);
+    }
+
+    @Test
+    void enterFromEmptyBucket() {
+        var area = new CountingArea(3200, 3200, 3210, 3210);
+        areas.register(area);
+
+        areas.notifyPositionChange(player, new Position(3199, 3200), new Position(3200, 3200));
+        assertEquals(1, area.enters);
+    }
+
+    @Test
+    void getAllContaining() {
+        var small = new Area(3200, 3200, 3205, 3205);
+        var large = new Area(3100, 3100, 3300, 3300);
+        areas.register(small);
+        areas.register(large);
+
+        var containing = areas.getAllContaining(new Position(3202, 3202));
+        assertEquals(2, containing.size());
+        assertTrue(containing.contains(small) && containing.contains(large));
+        assertEquals(small, areas.getFirstContaining(new Position(3202, 3202)).orElseThrow());
+        assertEquals(1, areas.getAllContaining(new Position(3290, 3290)).size());
+        assertTrue(areas.getAllContaining(new Position(1000, 1000)).isEmpty());
+    }
+}
@@ -0,0 +1,126 @@
+package io.luna.game.model.chunk;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test that ensures that functions within the {@link ChunkGrid} class are working correctly.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class ChunkGridTest {
+
+    /**
+     * Test storing and retrieving chunks, including across page boundaries.
+     */
+    @Test
+    void testPutAndGet() {
+        ChunkGrid grid = new ChunkGrid();
+        Chunk first = new Chunk(new ChunkPosition(400, 400, 0));
+        Chunk second = new Chunk(new ChunkPosition(401, 400, 0));
+        Chunk third = new Chunk(new ChunkPosition(-6, 2041, 0));
+        grid.put(first);
+        grid.put(second);
+        grid.put(third);
+
+        assertSame(first, grid.get(400, 400, 0));
+        assertSame(second, grid.get(401, 400, 0));
+        assertSame(third, grid.get(-6, 2041, 0));
+        assertNull(grid.get(400, 401, 0));
+        assertEquals(3, grid.size());
+    }
+
+    /**
+     * Test that chunks with the same coordinates on different planes are stored separately.
+     */
+    @Test
+    void testPlanes() {
+        ChunkGrid grid = new ChunkGrid();
+        Chunk ground = new Chunk(new ChunkPosition(400, 400, 0));
+        Chunk upstairs = new Chunk(new ChunkPosition(400, 400, 1));
+        grid.put(ground);
+        grid.put(upstairs);
+
+        assertSame(ground, grid.get(400, 400, 0));
+        assertSame(upstairs, grid.get(400, 400, 1));
+        assertNull(grid.get(400, 400, 2));
+    }
+
+    /**
+     * Test that coordinates outside of the map are rejected.
+     */
+    @Test
+    void testBounds() {
+        ChunkGrid grid = new ChunkGrid();
+        assertFalse(ChunkGrid.inBounds(-7, 0, 0));
+        assertFalse(ChunkGrid.inBounds(0, ChunkGrid.LENGTH - 6, 0));
+        assertFalse(ChunkGrid.inBounds(0, 0, 4));
+        assertTrue(ChunkGrid.inBounds(-6, ChunkGrid.LENGTH - 7, 3));
+        assertNull(grid.get(-7, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> grid.put(new Chunk(new ChunkPosition(-7, 0, 0))));
+    }
+
+    /**
+     * Test that chunk coordinates can't be loaded twice.
+     */
+    @Test
+    void testDuplicatePut() {
+        ChunkGrid grid = new ChunkGrid();
+        grid.put(new Chunk(new ChunkPosition(10, 10, 0)));
+        assertThrows(IllegalArgumentException.class, () -> grid.put(new Chunk(new ChunkPosition(10, 10, 0))));
+    }
+
+    /**
+     * Test removing chunks, including the last chunk within a page.
+     */
+    @Test
+    void testRemove() {
+        ChunkGrid grid = new ChunkGrid();
+        Chunk first = new Chunk(new ChunkPosition(400, 400, 0));
+        Chunk second = new Chunk(new ChunkPosition(401, 400, 0));
+        grid.put(first);
+        grid.put(second);
+
+        assertTrue(grid.remove(first));
+        assertFalse(grid.remove(first));
+        assertNull(grid.get(400, 400, 0));
+        assertSame(second, grid.get(401, 400, 0));
+
+        assertTrue(grid.remove(second));
+        assertEquals(0, grid.size());
+        assertFalse(grid.iterator().hasNext());
+
+        // The page was freed, so it has to be allocated again.
+        grid.put(first);
+        assertSame(first, grid.get(400, 400, 0));
+    }
+
+    /**
+     * Test iterating over every loaded chunk.
+     */
+    @Test
+    void testIterator() {
+        ChunkGrid grid = new ChunkGrid();
+        Set<Chunk> expected = new HashSet<>();
+        for (int index = 0; index < 20; index++) {
+            Chunk chunk = new Chunk(new ChunkPosition(index * 7, index * 3, 0));
+            grid.put(chunk);
+            expected.add(chunk);
+        }
+
+        Set<Chunk> found = new HashSet<>();
+        for (Chunk chunk : grid) {
+            assertTrue(found.add(chunk));
+        }
+        assertEquals(expected, found);
+    }
+}
@@ -0,0 +1,211 @@
+package io.luna.game.model.chunk;
+
+import io.luna.game.model.EntityType;
+import io.luna.game.model.Position;
+import io.luna.game.model.StationaryEntity.UpdateType;
+import io.luna.game.model.World;
+import io.luna.game.model.item.GroundItem;
+import io.luna.game.model.mob.Player;
+import io.luna.net.msg.GameMessageWriter;
+import io.luna.net.msg.out.ClearChunkMessageWriter;
+import io.luna.net.msg.out.RemoveGroundItemMessageWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * A test that ensures that functions within the {@link ChunkManager} class are working correctly.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class ChunkManagerTest {
+
+    /**
+     * The current tick.
+     */
+    private static final long TICK = 10;
+
+    /**
+     * The chunk at {@code (3200, 3200)} on the first floor.
+     */
+    private static final ChunkPosition UPSTAIRS = new ChunkPosition(394, 394, 1);
+
+    /**
+     * The chunk manager.
+     */
+    private ChunkManager chunks;
+
+    /**
+     * A player on the first floor of the region loaded around {@code (3200, 3200)}.
+     */
+    private Player player;
+
+    @BeforeEach
+    void initPlayer() {
+        World world = mock(World.class);
+        when(world.getCurrentTick()).thenReturn(TICK);
+        chunks = new ChunkManager(world);
+        player = player(new Position(3200, 3200, 1));
+    }
+
+    /**
+     * Test that only chunks on the plane of the player are queued to be refreshed.
+     */
+    @Test
+    void testQueueRefreshes() {
+        Chunk upstairs = chunks.load(UPSTAIRS);
+        Chunk downstairs = chunks.load(new ChunkPosition(394, 394, 0));
+
+        chunks.queueRefreshes(player, false);
+        assertTrue(player.getSentChunks().isRefreshQueued(upstairs.getPosition()));
+        assertFalse(player.getSentChunks().isRefreshQueued(downstairs.getPosition()));
+    }
+
+    /**
+     * Test that refreshes are held until the player is done teleporting.
+     */
+    @Test
+    void testTeleportingRefreshIsHeld() {
+        Chunk chunk = chunks.load(UPSTAIRS);
+        chunks.queueRefreshes(player, false);
+
+        when(player.isTeleporting()).thenReturn(true);
+        chunks.dispatchUpdates(List.of(player));
+        assertTrue(player.getSentChunks().isRefreshQueued(chunk.getPosition()));
+
+        when(player.isTeleporting()).thenReturn(false);
+        chunks.dispatchUpdates(List.of(player));
+        assertFalse(player.getSentChunks().isRefreshQueued(chunk.getPosition()));
+        assertTrue(player.getSentChunks().isCurrent(chunk));
+    }
+
+    /**
+     * Test that ground items in a chunk the client is up to date on are only resent after a region change, as the
+     * client discards every ground item when it loads a new region.
+     */
+    @Test
+    void testGroundItemsResentAfterRegionChange() {
+        Chunk chunk = chunks.load(UPSTAIRS);
+        Chunk empty = chunks.load(new ChunkPosition(395, 394, 1));
+        GroundItem item = mock(GroundItem.class);
+        when(item.getType()).thenReturn(EntityType.ITEM);
+        chunk.add(item);
+        chunk.setLastStationaryModified(TICK - 5);
+        player.getSentChunks().markSent(UPSTAIRS, TICK - 4);
+        player.getSentChunks().markSent(empty.getPosition(), TICK - 4);
+
+        // A plane change keeps every ground item on the client.
+        chunks.queueRefreshes(player, false);
+        assertFalse(player.getSentChunks().isRefreshQueued(UPSTAIRS));
+
+        // The region was rebased but the chunk is retained, so only its ground items need to be resent.
+        player.getSentChunks().retainRegion(new Position(3208, 3200, 1));
+        chunks.queueRefreshes(player, true);
+        assertTrue(player.getSentChunks().isRefreshQueued(UPSTAIRS));
+        assertFalse(player.getSentChunks().isRefreshQueued(empty.getPosition()));
+
+        when(player.getLastRegion()).thenReturn(new Position(3208, 3200, 1));
+        chunks.dispatchUpdates(List.of(player));
+        verify(player).queue(any(ClearChunkMessageWriter.class));
+        verify(item).sendUpdateMessage(player, UpdateType.SHOW);
+    }
+
+    /**
+     * Test that logging an update marks the chunk as modified, and that updates are only dispatched once.
+     */
+    @Test
+    void testLogUpdate() {
+        Chunk chunk = chunks.load(UPSTAIRS);
+        chunk.addSubscriber(new ChunkSubscriptions(player));
+
+        chunks.logUpdate(UPSTAIRS, new RemoveGroundItemMessageWriter(995, 0));
+        assertEquals(TICK, chunk.getLastModified());
+        assertEquals(TICK, chunk.getLastStationaryModified());
+        assertTrue(chunk.hasUpdates());
+
+        chunks.dispatchUpdates(List.of(player));
+        assertFalse(chunk.hasUpdates());
+        verify(player.getChunkUpdates()).addEncoded(eq(UPSTAIRS), any());
+
+        chunks.dispatchUpdates(List.of(player));
+        verify(player.getChunkUpdates(), times(1)).addEncoded(eq(UPSTAIRS), any());
+    }
+
+    /**
+     * Test that updates are encoded once, and the same bytes are shared by every recipient.
+     */
+    @Test
+    void testUpdatesAreSharedByRecipients() {
+        Player other = player(new Position(3200, 3200, 1));
+        Chunk chunk = chunks.load(UPSTAIRS);
+        chunk.addSubscriber(new ChunkSubscriptions(player));
+        chunk.addSubscriber(new ChunkSubscriptions(other));
+
+        GameMessageWriter update = spy(new RemoveGroundItemMessageWriter(995, 0));
+        chunks.logUpdate(UPSTAIRS, update);
+        chunks.dispatchUpdates(List.of(player, other));
+        verify(update, times(1)).write(any());
+
+        ArgumentCaptor<byte[]> sent = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<byte[]> otherSent = ArgumentCaptor.forClass(byte[].class);
+        verify(player.getChunkUpdates()).addEncoded(eq(UPSTAIRS), sent.capture());
+        verify(other.getChunkUpdates()).addEncoded(eq(UPSTAIRS), otherSent.capture());
+        assertSame(sent.getValue(), otherSent.getValue());
+    }
+
+    /**
+     * Test that players about to refresh the chunk, or that don't have it loaded, don't receive its updates.
+     */
+    @Test
+    void testRecipientsAreSkipped() {
+        Player refreshing = player(new Position(3200, 3200, 1));
+        Player downstairs = player(new Position(3200, 3200, 0));
+        Player unloaded = player(null);
+        Chunk chunk = chunks.load(UPSTAIRS);
+        chunk.addSubscriber(new ChunkSubscriptions(refreshing));
+        chunk.addSubscriber(new ChunkSubscriptions(downstairs));
+        chunk.addSubscriber(new ChunkSubscriptions(unloaded));
+        refreshing.getSentChunks().queueRefresh(UPSTAIRS);
+
+        chunks.logUpdate(UPSTAIRS, new RemoveGroundItemMessageWriter(995, 0));
+        chunks.dispatchUpdates(List.of(refreshing, downstairs, unloaded));
+        verify(refreshing.getChunkUpdates(), never()).addEncoded(any(), any());
+        verify(downstairs.getChunkUpdates(), never()).addEncoded(any(), any());
+        verify(unloaded.getChunkUpdates(), never()).addEncoded(any(), any());
+    }
+
+    /**
+     * Creates a mock player standing at {@code lastRegion}, with a real {@link ChunkViewTracker} and a mock
+     * {@link ChunkUpdateBatcher}.
+     *
+     * @param lastRegion The last known region of the client.
+     * @return The player.
+     */
+    private static Player player(Position lastRegion) {
+        Player player = mock(Player.class);
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        ChunkUpdateBatcher batcher = mock(ChunkUpdateBatcher.class);
+        when(player.getSentChunks()).thenReturn(tracker);
+        when(player.getChunkUpdates()).thenReturn(batcher);
+        when(player.getLastRegion()).thenReturn(lastRegion);
+        if (lastRegion != null) {
+            when(player.getChunkPosition()).thenReturn(lastRegion.getChunkPosition());
+        }
+        return player;
+    }
+}
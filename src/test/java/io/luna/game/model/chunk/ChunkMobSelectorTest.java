@@ -0,0 +1,179 @@
+package io.luna.game.model.chunk;
+
+import io.luna.game.model.EntityType;
+import io.luna.game.model.mob.Mob;
+import io.luna.game.model.mob.MobList;
+import io.luna.game.model.mob.Npc;
+import io.luna.game.model.mob.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A test that ensures that functions within the {@link ChunkMobSelector} class are working correctly.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class ChunkMobSelectorTest {
+
+    /**
+     * The player selecting mobs.
+     */
+    private Player player;
+
+    /**
+     * The mobs that can be resolved by index.
+     */
+    private Map<Integer, Mob> registered;
+
+    /**
+     * The mob list resolving {@link #registered} mobs.
+     */
+    private MobList<Mob> mobs;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void initPlayer() {
+        player = mock(Player.class);
+        when(player.getViewingDistance()).thenReturn(15);
+        when(player.getFriends()).thenReturn(Set.of(42L));
+
+        registered = new HashMap<>();
+        mobs = mock(MobList.class);
+        when(mobs.get(anyInt())).thenAnswer(invocation -> registered.get(invocation.<Integer>getArgument(0)));
+    }
+
+    /**
+     * Test that only the closest candidates are kept when there are more than the limit.
+     */
+    @Test
+    void testLimit() {
+        var selector = new ChunkMobSelector(player, 3);
+        int[] distances = {5, 1, 4, 2, 3};
+        for (int index = 0; index < distances.length; index++) {
+            selector.offer(npc(index + 1, distances[index], 1, 1));
+        }
+        assertEquals(List.of(registered.get(2), registered.get(4), registered.get(5)), selector.drain(mobs));
+    }
+
+    /**
+     * Test that candidates are ordered by friendship, then distance, then size, then combat level.
+     */
+    @Test
+    void testPriorityOrder() {
+        Mob small = npc(1, 1, 1, 100);
+        Mob far = npc(2, 2, 5, 100);
+        Mob big = npc(3, 1, 2, 1);
+        Mob strong = npc(4, 1, 2, 50);
+        Mob friend = player(5, 10, 42L);
+        Mob stranger = player(6, 10, 7L);
+
+        var selector = new ChunkMobSelector(player, 6);
+        for (Mob mob : List.of(small, far, big, strong, friend, stranger)) {
+            selector.offer(mob);
+        }
+        assertEquals(List.of(friend, strong, big, small, far, stranger), selector.drain(mobs));
+    }
+
+    /**
+     * Test that candidates of equal priority are ordered by index, highest first, and that the limit keeps the
+     * highest indexes.
+     */
+    @Test
+    void testTies() {
+        var selector = new ChunkMobSelector(player, 2);
+        for (int index = 1; index <= 4; index++) {
+            selector.offer(npc(index, 3, 1, 1));
+        }
+        assertEquals(List.of(registered.get(4), registered.get(3)), selector.drain(mobs));
+    }
+
+    /**
+     * Test selecting from no candidates, a single candidate, and with a limit of {@code 0}.
+     */
+    @Test
+    void testFewCandidates() {
+        var selector = new ChunkMobSelector(player, 15);
+        assertTrue(selector.drain(mobs).isEmpty());
+
+        Mob mob = npc(1, 1, 1, 1);
+        selector.offer(mob);
+        assertEquals(List.of(mob), selector.drain(mobs));
+
+        // Draining empties the selector.
+        assertTrue(selector.drain(mobs).isEmpty());
+
+        selector = new ChunkMobSelector(player, 0);
+        selector.offer(mob);
+        assertTrue(selector.drain(mobs).isEmpty());
+    }
+
+    /**
+     * Test that candidates unregistered before being drained are skipped.
+     */
+    @Test
+    void testUnregisteredSkipped() {
+        var selector = new ChunkMobSelector(player, 2);
+        Mob mob = npc(1, 1, 1, 1);
+        selector.offer(mob);
+        selector.offer(npc(2, 2, 1, 1));
+
+        registered.remove(2);
+        assertEquals(List.of(mob), selector.drain(mobs));
+    }
+
+    /**
+     * Creates and registers a mock npc.
+     *
+     * @param index The index.
+     * @param distance The distance from {@link #player}.
+     * @param size The size.
+     * @param combatLevel The combat level.
+     * @return The npc.
+     */
+    private Npc npc(int index, int distance, int size, int combatLevel) {
+        Npc npc = mock(Npc.class);
+        when(npc.getType()).thenReturn(EntityType.NPC);
+        when(npc.size()).thenReturn(size);
+        when(npc.getCombatLevel()).thenReturn(combatLevel);
+        return register(npc, index, distance);
+    }
+
+    /**
+     * Creates and registers a mock player.
+     *
+     * @param index The index.
+     * @param distance The distance from {@link #player}.
+     * @param usernameHash The username hash.
+     * @return The player.
+     */
+    private Player player(int index, int distance, long usernameHash) {
+        Player other = mock(Player.class);
+        when(other.getType()).thenReturn(EntityType.PLAYER);
+        when(other.asPlr()).thenReturn(other);
+        when(other.getUsernameHash()).thenReturn(usernameHash);
+        when(other.size()).thenReturn(1);
+        when(other.getCombatLevel()).thenReturn(3);
+        return register(other, index, distance);
+    }
+
+    /**
+     * Registers {@code mob} at {@code index}, {@code distance} tiles away from {@link #player}.
+     */
+    private <T extends Mob> T register(T mob, int index, int distance) {
+        when(mob.getIndex()).thenReturn(index);
+        when(player.computeLongestDistance(mob)).thenReturn(distance);
+        registered.put(index, mob);
+        return mob;
+    }
+}
@@ -0,0 +1,28 @@
+package io.luna.game.model.chunk;
+
+import io.luna.game.model.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * A test that ensures that functions within the {@link ChunkPosition} class are working correctly.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class ChunkPositionTest {
+
+    /**
+     * Test that offsets pack the tile coordinates relative to the chunk base.
+     */
+    @Test
+    void testOffset() {
+        ChunkPosition chunk = new Position(3200, 3200).getChunkPosition();
+        assertEquals(3200, chunk.getAbsX());
+        assertEquals(3200, chunk.getAbsY());
+
+        assertEquals(0x00, chunk.offset(new Position(3200, 3200)));
+        assertEquals(0x52, chunk.offset(new Position(3205, 3202)));
+        assertEquals(0x77, chunk.offset(new Position(3207, 3207)));
+    }
+}
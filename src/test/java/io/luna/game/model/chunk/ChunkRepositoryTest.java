@@ -4,10 +4,15 @@ import io.luna.game.model.Entity;
 import io.luna.game.model.EntityType;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
 /**
  * A test that ensures that functions within the {@link ChunkRepository} class are working correctly.
@@ -23,8 +28,7 @@ public final class ChunkRepositoryTest {
     public void testAdd() {
         assertThrows(IllegalStateException.class, () -> {
             ChunkRepository repository = new ChunkRepository();
-            Entity entity = mock(Entity.class);
-            when(entity.getType()).thenReturn(EntityType.PLAYER);
+            Entity entity = mockPlayer();
 
             repository.add(entity);
             repository.add(entity);
@@ -38,13 +42,48 @@ public final class ChunkRepositoryTest {
     public void testRemove() {
         assertThrows(IllegalStateException.class, () -> {
             ChunkRepository repository = new ChunkRepository();
-            Entity entity = mock(Entity.class);
-            when(entity.getType()).thenReturn(EntityType.PLAYER);
+            Entity entity = mockPlayer();
 
             repository.remove(entity);
         });
     }
 
+    /**
+     * Test that removing an entity moves the last entity into its slot.
+     */
+    @Test
+    public void testSwapRemove() {
+        ChunkRepository repository = new ChunkRepository();
+        Entity first = mockPlayer();
+        Entity second = mockPlayer();
+        Entity third = mockPlayer();
+        repository.add(first);
+        repository.add(second);
+        repository.add(third);
+
+        repository.remove(first);
+        ChunkOccupants<Entity> players = repository.setOf(EntityType.PLAYER);
+        assertEquals(2, players.size());
+        assertSame(third, players.get(0));
+        assertSame(second, players.get(1));
+        assertEquals(0, third.getChunkSlot());
+        assertFalse(players.contains(first));
+
+        repository.remove(third);
+        repository.remove(second);
+        assertTrue(repository.isEmpty());
+    }
+
+    /**
+     * Creates a mock {@link Entity} of type {@code PLAYER}. Real methods are called, so chunk slots are actually
+     * stored.
+     */
+    private Entity mockPlayer() {
+        Entity entity = mock(Entity.class, CALLS_REAL_METHODS);
+        doReturn(EntityType.PLAYER).when(entity).getType();
+        return entity;
+    }
+
     /**
      * Test initializing map for each type.
      */
@@ -0,0 +1,51 @@
+package io.luna.game.model.chunk;
+
+import io.luna.game.model.EntityType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test that ensures that functions within the {@link ChunkSubscriptions} class are working correctly.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class ChunkSubscriptionsTest {
+
+    /**
+     * Test that subscribers are only notified of activity in chunks they're subscribed to, for the right mob type.
+     */
+    @Test
+    void testNotify() {
+        ChunkSubscriptions subscriptions = new ChunkSubscriptions(null);
+        Chunk subscribed = new Chunk(new ChunkPosition(400, 400, 0));
+        Chunk other = new Chunk(new ChunkPosition(410, 400, 0));
+        subscribed.addSubscriber(subscriptions);
+
+        other.notifySubscribers(EntityType.PLAYER, 5);
+        assertTrue(subscriptions.isQuiescent(EntityType.PLAYER, 5));
+
+        subscribed.notifySubscribers(EntityType.NPC, 5);
+        assertTrue(subscriptions.isQuiescent(EntityType.PLAYER, 5));
+        assertFalse(subscriptions.isQuiescent(EntityType.NPC, 5));
+        assertTrue(subscriptions.isQuiescent(EntityType.NPC, 6));
+
+        subscribed.removeSubscriber(subscriptions);
+        subscribed.notifySubscribers(EntityType.PLAYER, 7);
+        assertTrue(subscriptions.isQuiescent(EntityType.PLAYER, 7));
+    }
+
+    /**
+     * Test the range of chunks covered by a subscription center.
+     */
+    @Test
+    void testCovers() {
+        ChunkPosition center = new ChunkPosition(400, 400, 0);
+        assertTrue(ChunkSubscriptions.covers(center, new ChunkPosition(400 + ChunkManager.RADIUS, 400, 0)));
+        assertTrue(ChunkSubscriptions.covers(center, new ChunkPosition(400, 400 - ChunkManager.RADIUS, 0)));
+        assertFalse(ChunkSubscriptions.covers(center, new ChunkPosition(401 + ChunkManager.RADIUS, 400, 0)));
+        assertFalse(ChunkSubscriptions.covers(center, new ChunkPosition(400, 400, 1)));
+        assertFalse(ChunkSubscriptions.covers(null, center));
+    }
+}
@@ -0,0 +1,69 @@
+package io.luna.game.model.chunk;
+
+import io.luna.game.model.Position;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test that ensures that functions within the {@link ChunkViewTracker} class are working correctly.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class ChunkViewTrackerTest {
+
+    /**
+     * Test that chunks are only current if they weren't modified since they were sent.
+     */
+    @Test
+    void testIsCurrent() {
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        Chunk chunk = new Chunk(new ChunkPosition(394, 394, 0));
+        chunk.setLastStationaryModified(5);
+        assertFalse(tracker.isCurrent(chunk));
+
+        tracker.markSent(chunk.getPosition(), 5);
+        assertFalse(tracker.isCurrent(chunk));
+
+        tracker.markSent(chunk.getPosition(), 6);
+        assertTrue(tracker.isCurrent(chunk));
+
+        chunk.setLastStationaryModified(7);
+        assertFalse(tracker.isCurrent(chunk));
+    }
+
+    /**
+     * Test that mobs moving within a chunk don't make it out of date.
+     */
+    @Test
+    void testMobModificationsIgnored() {
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        Chunk chunk = new Chunk(new ChunkPosition(394, 394, 0));
+        tracker.markSent(chunk.getPosition(), 6);
+
+        chunk.setLastModified(7);
+        assertTrue(tracker.isCurrent(chunk));
+    }
+
+    /**
+     * Test that chunks outside of the loaded region are forgotten.
+     */
+    @Test
+    void testRetainRegion() {
+        ChunkViewTracker tracker = new ChunkViewTracker();
+        Chunk inside = new Chunk(new ChunkPosition(394, 394, 0));
+        Chunk outside = new Chunk(new ChunkPosition(500, 500, 0));
+        Chunk upstairs = new Chunk(new ChunkPosition(394, 394, 1));
+        tracker.markSent(inside.getPosition(), 1);
+        tracker.markSent(outside.getPosition(), 1);
+        tracker.markSent(upstairs.getPosition(), 1);
+
+        tracker.retainRegion(new Position(3200, 3200, 0));
+        assertEquals(1, tracker.size());
+        assertTrue(tracker.isCurrent(inside));
+        assertFalse(tracker.isCurrent(outside));
+        assertFalse(tracker.isCurrent(upstairs));
+    }
+}
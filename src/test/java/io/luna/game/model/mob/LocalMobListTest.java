@@ -0,0 +1,80 @@
+package io.luna.game.model.mob;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Unit tests for {@link LocalMobList}.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class LocalMobListTest {
+
+    @Test
+    void addAndContains() {
+        var list = new LocalMobList<Npc>(2, 128);
+        var first = npc(1);
+        var second = npc(127);
+
+        assertTrue(list.add(first));
+        assertFalse(list.add(first));
+        assertTrue(list.add(second));
+        assertFalse(list.add(npc(64)), "List should be full.");
+
+        assertTrue(list.contains(first));
+        assertTrue(list.containsIndex(127));
+        assertFalse(list.containsIndex(64));
+    }
+
+    @Test
+    void removePreservesOrder() {
+        var list = new LocalMobList<Npc>(255, 128);
+        var npcs = List.of(npc(5), npc(3), npc(70), npc(1));
+        npcs.forEach(list::add);
+
+        var iterator = list.iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getIndex() == 3) {
+                iterator.remove();
+            }
+        }
+
+        var remaining = new ArrayList<Npc>();
+        list.forEach(remaining::add);
+        assertEquals(List.of(npcs.get(0), npcs.get(2), npcs.get(3)), remaining);
+        assertFalse(list.containsIndex(3));
+        assertEquals(3, list.size());
+    }
+
+    @Test
+    void removeUnregistered() {
+        var list = new LocalMobList<Npc>(255, 128);
+        var npc = npc(10);
+        list.add(npc);
+        npc.setIndex(-1);
+
+        var iterator = list.iterator();
+        iterator.next();
+        iterator.remove();
+
+        assertFalse(list.containsIndex(10));
+        assertEquals(0, list.size());
+    }
+
+    /**
+     * Creates a mock npc with {@code index}. Real methods are called, so the index is actually stored.
+     */
+    private static Npc npc(int index) {
+        Npc npc = mock(Npc.class, CALLS_REAL_METHODS);
+        npc.setIndex(index);
+        return npc;
+    }
+}
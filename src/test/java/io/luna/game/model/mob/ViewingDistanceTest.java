@@ -0,0 +1,65 @@
+package io.luna.game.model.mob;
+
+import io.luna.game.model.EntityConstants;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test that ensures that functions within the {@link ViewingDistance} class are working correctly.
+ *
+ * @author lare96 <http://github.org/lare96>
+ */
+final class ViewingDistanceTest {
+
+    /**
+     * Test that the distance shrinks under pressure, down to the minimum.
+     */
+    @Test
+    void testShrink() {
+        ViewingDistance distance = new ViewingDistance(100);
+        assertTrue(distance.update(100, false));
+        assertEquals(EntityConstants.VIEWING_DISTANCE - 1, distance.get());
+        assertTrue(distance.update(0, true));
+        assertEquals(EntityConstants.VIEWING_DISTANCE - 2, distance.get());
+
+        for (int tick = 0; tick < EntityConstants.VIEWING_DISTANCE; tick++) {
+            distance.update(100, false);
+        }
+        assertEquals(ViewingDistance.MINIMUM, distance.get());
+        assertFalse(distance.update(100, false));
+    }
+
+    /**
+     * Test that the distance only grows back after enough calm ticks, and not while the player is near the threshold.
+     */
+    @Test
+    void testGrow() {
+        ViewingDistance distance = new ViewingDistance(100);
+        distance.update(100, false);
+        int shrunk = distance.get();
+
+        for (int tick = 0; tick < ViewingDistance.GROW_DELAY * 2; tick++) {
+            assertFalse(distance.update(80, false));
+        }
+        assertEquals(shrunk, distance.get());
+
+        for (int tick = 1; tick < ViewingDistance.GROW_DELAY; tick++) {
+            assertFalse(distance.update(10, false));
+        }
+        assertTrue(distance.update(10, false));
+        assertEquals(EntityConstants.VIEWING_DISTANCE, distance.get());
+    }
+
+    /**
+     * Test that a threshold of {@code 0} disables crowd-based shrinking.
+     */
+    @Test
+    void testDisabled() {
+        ViewingDistance distance = new ViewingDistance(0);
+        distance.update(255, false);
+        assertEquals(EntityConstants.VIEWING_DISTANCE, distance.get());
+    }
+}
@@ -0,0 +1,55 @@
+package io.luna.game.model.mob.block;
+
+import io.luna.game.model.mob.block.UpdateFlagSet.UpdateFlag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for {@link AbstractUpdateBlockSet}.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class AbstractUpdateBlockSetTest {
+
+    @Test
+    void playerMask() {
+        var blockSet = new PlayerUpdateBlockSet();
+        var flags = new UpdateFlagSet();
+        flags.flag(UpdateFlag.CHAT);
+        flags.flag(UpdateFlag.GRAPHIC);
+
+        int encodeBits = blockSet.computeEncodeBits(flags.getBits(), UpdateState.UPDATE_LOCAL);
+        assertEquals(0x100 | 0x80, blockSet.computeMask(encodeBits));
+
+        // Chat is never encoded for ourselves.
+        encodeBits = blockSet.computeEncodeBits(flags.getBits(), UpdateState.UPDATE_SELF);
+        assertEquals(0x100, blockSet.computeMask(encodeBits));
+
+        // Appearance is always encoded when adding.
+        encodeBits = blockSet.computeEncodeBits(flags.getBits(), UpdateState.ADD_LOCAL);
+        assertEquals(0x100 | 0x80 | 0x10, blockSet.computeMask(encodeBits));
+    }
+
+    @Test
+    void encodingOrder() {
+        var blockSet = new PlayerUpdateBlockSet();
+        var flags = new UpdateFlagSet();
+        flags.flag(UpdateFlag.SECONDARY_HIT);
+        flags.flag(UpdateFlag.GRAPHIC);
+
+        // Graphic is the first block, secondary hit is the last.
+        int encodeBits = blockSet.computeEncodeBits(flags.getBits(), UpdateState.UPDATE_LOCAL);
+        assertEquals(1 | 1 << 9, encodeBits);
+    }
+
+    @Test
+    void unsupportedFlagsIgnored() {
+        var blockSet = new NpcUpdateBlockSet();
+        var flags = new UpdateFlagSet();
+        flags.flag(UpdateFlag.APPEARANCE);
+        flags.flag(UpdateFlag.CHAT);
+
+        assertEquals(0, blockSet.computeEncodeBits(flags.getBits(), UpdateState.ADD_LOCAL));
+    }
+}
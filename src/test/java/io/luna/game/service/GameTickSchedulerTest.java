@@ -0,0 +1,122 @@
+package io.luna.game.service;
+
+import io.luna.game.service.GameTickScheduler.CatchUpPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link GameTickScheduler}.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class GameTickSchedulerTest {
+
+    static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(600);
+
+    @Test
+    void onTimeWaitsUntilDeadline() {
+        var scheduler = start(CatchUpPolicy.COMPRESS);
+
+        // Finished a quarter into the tick, so three quarters are left to wait.
+        assertEquals(INTERVAL * 3 / 4, scheduler.nextDelay(INTERVAL + INTERVAL / 4));
+        assertEquals(0, scheduler.getOverruns());
+        assertEquals(0, scheduler.getTicksBehind());
+    }
+
+    @Test
+    void skipDropsMissedTicks() {
+        var scheduler = start(CatchUpPolicy.SKIP);
+
+        // Due at 2I, finished at 3.5I.
+        assertEquals(0, scheduler.nextDelay(INTERVAL * 7 / 2));
+        assertEquals(1, scheduler.getSkipped());
+        assertEquals(0, scheduler.getTicksBehind());
+
+        // The timeline was re-anchored, so the next tick is a full interval away.
+        assertEquals(INTERVAL, scheduler.nextDelay(INTERVAL * 7 / 2));
+    }
+
+    @Test
+    void compressRunsMissedTicksBackToBack() {
+        var scheduler = start(CatchUpPolicy.COMPRESS);
+        long now = INTERVAL * 9 / 2;
+
+        assertEquals(0, scheduler.nextDelay(now));
+        assertEquals(2, scheduler.getTicksBehind());
+        assertEquals(0, scheduler.nextDelay(now));
+        assertEquals(1, scheduler.getTicksBehind());
+        assertEquals(0, scheduler.nextDelay(now));
+        assertEquals(0, scheduler.getTicksBehind());
+
+        // Caught up, wait until the next deadline at 5I.
+        assertEquals(INTERVAL / 2, scheduler.nextDelay(now));
+        assertEquals(3, scheduler.getOverruns());
+        assertEquals(0, scheduler.getSkipped());
+    }
+
+    @Test
+    void spreadRunsMissedTicksAtHalfInterval() {
+        var scheduler = start(CatchUpPolicy.SPREAD);
+        long now = INTERVAL * 9 / 2;
+
+        assertEquals(INTERVAL / 2, scheduler.nextDelay(now));
+        assertEquals(2, scheduler.getTicksBehind());
+
+        now += INTERVAL / 2;
+        assertEquals(INTERVAL / 2, scheduler.nextDelay(now));
+        now += INTERVAL / 2;
+        assertEquals(INTERVAL / 2, scheduler.nextDelay(now));
+        now += INTERVAL / 2;
+        assertEquals(INTERVAL / 2, scheduler.nextDelay(now));
+        assertEquals(1, scheduler.getTicksBehind());
+
+        // Less than a tick behind, so the next tick runs immediately.
+        now += INTERVAL / 2;
+        assertEquals(0, scheduler.nextDelay(now));
+        assertEquals(0, scheduler.getTicksBehind());
+
+        // Caught up, wait until the next deadline at 7I.
+        assertEquals(INTERVAL / 2, scheduler.nextDelay(now));
+        assertEquals(0, scheduler.getSkipped());
+    }
+
+    @Test
+    void tooFarBehindIsClamped() {
+        var scheduler = start(CatchUpPolicy.COMPRESS);
+
+        // Exactly at the limit, missed ticks are still caught up with.
+        assertEquals(0, scheduler.nextDelay(INTERVAL * (GameTickScheduler.MAX_TICKS_BEHIND + 2)));
+        assertEquals(GameTickScheduler.MAX_TICKS_BEHIND, scheduler.getTicksBehind());
+        assertEquals(0, scheduler.getSkipped());
+
+        scheduler = start(CatchUpPolicy.COMPRESS);
+
+        // Past the limit, missed ticks are dropped and the timeline is re-anchored.
+        long now = INTERVAL * (GameTickScheduler.MAX_TICKS_BEHIND + 3);
+        assertEquals(0, scheduler.nextDelay(now));
+        assertEquals(GameTickScheduler.MAX_TICKS_BEHIND + 1, scheduler.getSkipped());
+        assertEquals(0, scheduler.getTicksBehind());
+        assertEquals(INTERVAL, scheduler.nextDelay(now));
+    }
+
+    @Test
+    void missingPolicy() {
+        assertThrows(NullPointerException.class, () -> new GameTickScheduler(null, 600, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Creates a new scheduler and schedules its first tick at time {@code 0}.
+     *
+     * @param policy The catch-up policy.
+     * @return The scheduler.
+     */
+    private GameTickScheduler start(CatchUpPolicy policy) {
+        var scheduler = new GameTickScheduler(policy, INTERVAL, TimeUnit.NANOSECONDS);
+        assertEquals(INTERVAL, scheduler.nextDelay(0));
+        return scheduler;
+    }
+}
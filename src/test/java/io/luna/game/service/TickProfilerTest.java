@@ -0,0 +1,47 @@
+package io.luna.game.service;
+
+import io.luna.game.service.TickProfiler.Phase;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link TickProfiler}.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class TickProfilerTest {
+
+    @Test
+    void disabledRecordsNothing() {
+        var profiler = new TickProfiler(false);
+        profiler.start();
+        profiler.mark(Phase.TASKS);
+        profiler.finish();
+
+        assertEquals(0, profiler.getTicks());
+        assertEquals(0, profiler.max(Phase.TASKS));
+    }
+
+    @Test
+    void percentilesAreOrdered() {
+        var profiler = new TickProfiler(true);
+        for (int i = 0; i < TickProfiler.WINDOW_SIZE * 2; i++) {
+            profiler.start();
+            for (Phase phase : Phase.values()) {
+                profiler.mark(phase);
+            }
+            profiler.finish();
+        }
+
+        assertEquals(TickProfiler.WINDOW_SIZE * 2, profiler.getTicks());
+        for (Phase phase : Phase.values()) {
+            long p50 = profiler.percentile(phase, 50);
+            long p99 = profiler.percentile(phase, 99);
+            assertTrue(p50 <= p99);
+            assertTrue(p99 <= profiler.max(phase));
+        }
+        assertTrue(profiler.max(null) >= profiler.max(Phase.SYNCHRONIZE));
+    }
+}
@@ -0,0 +1,164 @@
+package io.luna.net.client;
+
+import io.luna.game.model.mob.Player;
+import io.luna.net.codec.ByteMessage;
+import io.luna.net.msg.GameMessage;
+import io.luna.net.msg.GameMessageRepository;
+import io.luna.net.msg.GameMessageWriter;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.EventLoop;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link GameClient}, ensuring messages are staged, flushed once per call, and released when they
+ * can't be sent.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class GameClientTest {
+
+    Channel channel;
+    EventLoop eventLoop;
+    ChannelPromise voidPromise;
+    GameClient client;
+
+    /**
+     * The payloads written by {@link #writer}.
+     */
+    List<ByteMessage> written;
+
+    /**
+     * A writer with a single byte payload.
+     */
+    GameMessageWriter writer;
+
+    @BeforeEach
+    void initClient() {
+        channel = mock(Channel.class);
+        eventLoop = mock(EventLoop.class);
+        voidPromise = mock(ChannelPromise.class);
+        when(channel.remoteAddress()).thenReturn(new InetSocketAddress("127.0.0.1", 43594));
+        when(channel.isActive()).thenReturn(true);
+        when(channel.eventLoop()).thenReturn(eventLoop);
+        when(channel.voidPromise()).thenReturn(voidPromise);
+        client = new GameClient(channel, new GameMessageRepository(), 15);
+
+        written = new ArrayList<>();
+        writer = new GameMessageWriter() {
+            @Override
+            public ByteMessage write(Player player) {
+                ByteMessage msg = ByteMessage.message(1);
+                msg.put(written.size());
+                written.add(msg);
+                return msg;
+            }
+        };
+    }
+
+    @Test
+    void messagesAreStagedUntilFlushed() {
+        client.queue(writer, null);
+        client.queue(writer, null);
+        verify(channel, never()).write(any(), any());
+        verify(eventLoop, never()).execute(any());
+
+        client.flush();
+        Runnable task = captureTask();
+        verify(channel, never()).write(any(), any());
+
+        // Every message is written in order, followed by one flush.
+        task.run();
+        ArgumentCaptor<GameMessage> messages = ArgumentCaptor.forClass(GameMessage.class);
+        InOrder order = inOrder(channel);
+        order.verify(channel, times(2)).write(messages.capture(), any());
+        order.verify(channel).flush();
+        assertSame(written.get(0), messages.getAllValues().get(0).getPayload());
+        assertSame(written.get(1), messages.getAllValues().get(1).getPayload());
+        releaseWritten();
+    }
+
+    @Test
+    void flushOnlyHandsOffStagedMessages() {
+        client.flush();
+        verify(eventLoop, never()).execute(any());
+
+        client.queue(writer, null);
+        client.flush();
+        client.flush();
+        verify(eventLoop, times(1)).execute(any());
+        releaseWritten();
+    }
+
+    @Test
+    void stagedMessagesAreReleasedWhenInactive() {
+        client.queue(writer, null);
+        client.queue(writer, null);
+
+        when(channel.isActive()).thenReturn(false);
+        client.flush();
+        verify(eventLoop, never()).execute(any());
+        assertReleased();
+
+        // Nothing is encoded once the channel is inactive.
+        client.queue(writer, null);
+        assertEquals(2, written.size());
+    }
+
+    @Test
+    void messagesAfterLastFlushAreDropped() {
+        client.queue(writer, null);
+        client.flushLast();
+        verify(eventLoop, times(1)).execute(any());
+
+        client.queue(writer, null);
+        client.flush();
+        assertEquals(1, written.size());
+        verify(eventLoop, times(1)).execute(any());
+        releaseWritten();
+    }
+
+    /**
+     * @return The single task handed to the event loop.
+     */
+    private Runnable captureTask() {
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        verify(eventLoop, times(1)).execute(task.capture());
+        return task.getValue();
+    }
+
+    /**
+     * Asserts that every payload written has been released.
+     */
+    private void assertReleased() {
+        for (ByteMessage msg : written) {
+            assertEquals(0, msg.getBuffer().refCnt());
+        }
+    }
+
+    /**
+     * Releases every payload written, standing in for the encoder of the mock channel.
+     */
+    private void releaseWritten() {
+        for (ByteMessage msg : written) {
+            msg.releaseAll();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package io.luna.net.codec;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit tests for {@link ByteMessage}.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class ByteMessageTest {
+
+    ByteMessage msg;
+
+    @BeforeEach
+    void initMessage() {
+        msg = ByteMessage.raw();
+    }
+
+    @AfterEach
+    void releaseMessage() {
+        msg.release();
+    }
+
+    @Test
+    void putBitsPartialByte() {
+        msg.startBitAccess();
+        msg.putBit(true);
+        msg.putBits(2, 3);
+        msg.putBits(11, 2047);
+        msg.endBitAccess();
+
+        assertEquals(2, msg.getBuffer().readableBytes());
+        assertEquals(0xFF, msg.get(false));
+        assertEquals(0xFC, msg.get(false));
+    }
+
+    @Test
+    void putBitsAcrossWords() {
+        msg.startBitAccess();
+        msg.putBits(4, 0xF);
+        msg.putBits(32, 0x12345678);
+        msg.putBits(3, 0xFF); // Only the lowest 3 bits should be written.
+        msg.putBit(false);
+        msg.endBitAccess();
+        msg.put(5);
+
+        assertEquals(6, msg.getBuffer().readableBytes());
+        assertEquals(0xF1, msg.get(false));
+        assertEquals(0x23, msg.get(false));
+        assertEquals(0x45, msg.get(false));
+        assertEquals(0x67, msg.get(false));
+        assertEquals(0x8E, msg.get(false));
+        assertEquals(5, msg.get(false));
+    }
+
+    @Test
+    void putBitsOutsideBitAccess() {
+        assertThrows(IllegalStateException.class, () -> msg.putBits(1, 1));
+    }
+}
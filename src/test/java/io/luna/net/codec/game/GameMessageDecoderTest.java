@@ -0,0 +1,270 @@
+package io.luna.net.codec.game;
+
+import io.luna.game.event.Event;
+import io.luna.game.model.mob.Player;
+import io.luna.net.client.GameClient;
+import io.luna.net.codec.IsaacCipher;
+import io.luna.net.msg.GameMessage;
+import io.luna.net.msg.GameMessageReader;
+import io.luna.net.msg.GameMessageRepository;
+import io.luna.net.msg.MessageCategory;
+import io.luna.util.TokenBucket;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.channel.Channel;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.util.ResourceLeakDetector;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link GameMessageDecoder}, ensuring decoded payloads are released on every path and inbound
+ * budgets are enforced.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class GameMessageDecoderTest {
+
+    static final int OPCODE = 54;
+    static final int RETAINING_OPCODE = 55;
+    static final int CHAT_OPCODE = 56;
+
+    static GameMessageRepository repository;
+    static ResourceLeakDetector.Level leakDetection;
+
+    IsaacCipher encryptor;
+    EmbeddedChannel channel;
+
+    @BeforeAll
+    static void initRepository() throws ReflectiveOperationException {
+        // Only records buffer accesses to help debug a failure, the reference counts are what's asserted.
+        leakDetection = ResourceLeakDetector.getLevel();
+        ResourceLeakDetector.setLevel(ResourceLeakDetector.Level.PARANOID);
+        repository = new GameMessageRepository();
+        repository.put(reader(new GameMessageReader() {
+            @Override
+            public Event read(Player player, GameMessage msg) {
+                return null;
+            }
+        }, OPCODE));
+        repository.put(reader(new GameMessageReader() {
+            @Override
+            public Event read(Player player, GameMessage msg) {
+                // Simulates a reader that holds onto the payload.
+                msg.getPayload().retain();
+                return null;
+            }
+        }, RETAINING_OPCODE));
+        repository.put(reader(new GameMessageReader() {
+            @Override
+            public Event read(Player player, GameMessage msg) {
+                return null;
+            }
+        }, CHAT_OPCODE, -1, MessageCategory.CHAT));
+        repository.lock();
+    }
+
+    @AfterAll
+    static void restoreLeakDetection() {
+        ResourceLeakDetector.setLevel(leakDetection);
+    }
+
+    @BeforeEach
+    void initChannel() {
+        initChannel(new MessageBudget(Map.of(), 0));
+    }
+
+    /**
+     * Replaces the channel with one decoding messages under {@code budget}.
+     *
+     * @param budget The inbound message budget.
+     */
+    void initChannel(MessageBudget budget) {
+        if (channel != null) {
+            channel.finishAndReleaseAll();
+        }
+        encryptor = new IsaacCipher(new int[]{0, 0, 0, 0});
+        channel = new EmbeddedChannel(new GameMessageDecoder(new IsaacCipher(new int[]{0, 0, 0, 0}), repository,
+                budget));
+    }
+
+    @AfterEach
+    void closeChannel() {
+        channel.finishAndReleaseAll();
+    }
+
+    @Test
+    void payloadIsSlicedAndReleased() {
+        ByteBuf in = encode(OPCODE, 1);
+        channel.writeInbound(in);
+        GameMessage msg = channel.readInbound();
+
+        // The payload shares memory with the input, rather than being a copy of it.
+        in.setInt(1, 1234);
+        assertEquals(1234, msg.getPayload().getBuffer().getInt(0));
+        assertEquals(1, in.refCnt());
+
+        repository.get(OPCODE).postEvent(null, msg);
+        assertEquals(0, in.refCnt());
+    }
+
+    @Test
+    void retainedPayloadIsReleased() {
+        ByteBuf in = encode(RETAINING_OPCODE, 1);
+        channel.writeInbound(in);
+        GameMessage msg = channel.readInbound();
+
+        repository.get(RETAINING_OPCODE).postEvent(null, msg);
+        assertEquals(0, in.refCnt());
+    }
+
+    @Test
+    void discardedPayloadsAreReleased() throws Exception {
+        Channel clientChannel = mock(Channel.class);
+        when(clientChannel.remoteAddress()).thenReturn(new InetSocketAddress("127.0.0.1", 43594));
+        GameClient client = new GameClient(clientChannel, repository, 15);
+
+        ByteBuf in = encode(OPCODE, 16);
+        channel.writeInbound(in);
+        for (int i = 0; i < 16; i++) {
+            client.messageReceived(channel.readInbound());
+        }
+
+        // The last message overflows the queue.
+        assertEquals(15, in.refCnt());
+
+        client.onInactive();
+        assertEquals(0, in.refCnt());
+    }
+
+    @Test
+    void overBudgetMessagesAreSkipped() {
+        // Only one message can be sent, the bucket practically never refills.
+        var budget = new MessageBudget(Map.of(MessageCategory.OTHER,
+                new TokenBucket(0.001, 1, System.nanoTime())), 0);
+        initChannel(budget);
+
+        ByteBuf in = encode(OPCODE, 3);
+        channel.writeInbound(in);
+        GameMessage msg = channel.readInbound();
+
+        assertEquals(0, msg.getPayload().getBuffer().getInt(0));
+        assertNull(channel.readInbound());
+        assertEquals(2, budget.getRejected(MessageCategory.OTHER));
+        assertEquals(1, in.refCnt());
+
+        repository.get(OPCODE).postEvent(null, msg);
+        assertEquals(0, in.refCnt());
+    }
+
+    @Test
+    void exceedingBudgetDisconnects() {
+        var budget = new MessageBudget(Map.of(MessageCategory.OTHER,
+                new TokenBucket(0.001, 1, System.nanoTime())), 2);
+        initChannel(budget);
+
+        ByteBuf in = encode(OPCODE, 5);
+        channel.writeInbound(in);
+        GameMessage msg = channel.readInbound();
+
+        assertNull(channel.readInbound());
+        assertFalse(channel.isOpen());
+        assertEquals(2, budget.getTotalRejected());
+
+        repository.get(OPCODE).postEvent(null, msg);
+        assertEquals(0, in.refCnt());
+    }
+
+    @Test
+    void rejectedEmptyMessageDoesNotStall() {
+        var budget = new MessageBudget(Map.of(MessageCategory.CHAT,
+                new TokenBucket(0.001, 1, System.nanoTime())), 0);
+        initChannel(budget);
+
+        // An empty chat message within budget, an empty one over budget, and a message without a budget.
+        ByteBuf in = PooledByteBufAllocator.DEFAULT.buffer();
+        for (int i = 0; i < 2; i++) {
+            in.writeByte(CHAT_OPCODE + encryptor.nextInt());
+            in.writeByte(0);
+        }
+        in.writeByte(OPCODE + encryptor.nextInt());
+        in.writeInt(7);
+        channel.writeInbound(in);
+
+        GameMessage chat = channel.readInbound();
+        GameMessage msg = channel.readInbound();
+        assertEquals(CHAT_OPCODE, chat.getOpcode());
+        assertEquals(0, chat.getPayload().getBuffer().readableBytes());
+        assertEquals(OPCODE, msg.getOpcode());
+        assertEquals(7, msg.getPayload().getBuffer().getInt(0));
+        assertNull(channel.readInbound());
+        assertEquals(1, budget.getRejected(MessageCategory.CHAT));
+
+        repository.get(CHAT_OPCODE).postEvent(null, chat);
+        repository.get(OPCODE).postEvent(null, msg);
+        assertEquals(0, in.refCnt());
+    }
+
+    /**
+     * Encodes {@code count} messages with a 4 byte payload into a single pooled buffer.
+     *
+     * @param opcode The opcode.
+     * @param count The amount of messages.
+     * @return The encoded messages.
+     */
+    private ByteBuf encode(int opcode, int count) {
+        ByteBuf buf = PooledByteBufAllocator.DEFAULT.buffer();
+        for (int i = 0; i < count; i++) {
+            buf.writeByte(opcode + encryptor.nextInt());
+            buf.writeInt(i);
+        }
+        return buf;
+    }
+
+    /**
+     * Injects the opcode and size of a 4 byte payload into {@code reader}.
+     *
+     * @param reader The reader.
+     * @param opcode The opcode.
+     * @return The reader.
+     */
+    private static GameMessageReader reader(GameMessageReader reader, int opcode)
+            throws ReflectiveOperationException {
+        return reader(reader, opcode, 4, MessageCategory.OTHER);
+    }
+
+    /**
+     * Injects the opcode, size, and category into {@code reader}.
+     *
+     * @param reader The reader.
+     * @param opcode The opcode.
+     * @param size The size.
+     * @param category The category.
+     * @return The reader.
+     */
+    private static GameMessageReader reader(GameMessageReader reader, int opcode, int size,
+                                            MessageCategory category) throws ReflectiveOperationException {
+        var opcodeField = GameMessageReader.class.getDeclaredField("opcode");
+        var sizeField = GameMessageReader.class.getDeclaredField("size");
+        var categoryField = GameMessageReader.class.getDeclaredField("category");
+        opcodeField.setAccessible(true);
+        sizeField.setAccessible(true);
+        categoryField.setAccessible(true);
+        opcodeField.setInt(reader, opcode);
+        sizeField.setInt(reader, size);
+        categoryField.set(reader, category);
+        return reader;
+    }
+}
@@ -6,12 +6,18 @@ import io.luna.net.codec.MessageType;
 import io.luna.net.msg.GameMessage;
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.netty.buffer.UnpooledByteBufAllocator;
 import io.netty.channel.ChannelHandlerContext;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 /**
  * Unit tests for {@link GameMessageEncoder}.
@@ -24,15 +30,14 @@ final class GameMessageEncoderTest {
     static GameMessageEncoder encoder;
     static ChannelHandlerContext ctx;
     static byte[] payload;
-    static ByteBuf buffer;
 
     @BeforeAll
     static void initData() {
         isaac = new IsaacCipher(new int[]{0, 0, 0, 0});
         encoder = new GameMessageEncoder(isaac);
         ctx = mock(ChannelHandlerContext.class);
+        when(ctx.alloc()).thenReturn(UnpooledByteBufAllocator.DEFAULT);
         payload = "test".getBytes();
-        buffer = Unpooled.buffer();
     }
 
     @Test
@@ -42,20 +47,19 @@ final class GameMessageEncoderTest {
         // Fixed length test.
         var msg = ByteMessage.message(54, MessageType.FIXED);
         msg.putBytes(payload);
-        encoder.encode(ctx, new GameMessage(msg.getOpcode(), msg.getType(), msg), buffer);
+        var buffer = encode(msg);
 
         assertEquals(41, buffer.readUnsignedByte());
         assertEquals('t', buffer.readByte());
         assertEquals('e', buffer.readByte());
         assertEquals('s', buffer.readByte());
         assertEquals('t', buffer.readByte());
-        buffer.clear();
-
+        buffer.release();
 
         // Variable length test.
         msg = ByteMessage.message(54, MessageType.VAR);
         msg.putBytes(payload);
-        encoder.encode(ctx, new GameMessage(msg.getOpcode(), msg.getType(), msg), buffer);
+        buffer = encode(msg);
 
         assertEquals(195, buffer.readUnsignedByte());
         assertEquals(4, buffer.readByte());
@@ -63,12 +67,12 @@ final class GameMessageEncoderTest {
         assertEquals('e', buffer.readByte());
         assertEquals('s', buffer.readByte());
         assertEquals('t', buffer.readByte());
-        buffer.clear();
+        buffer.release();
 
         // Variable short length test.
         msg = ByteMessage.message(54, MessageType.VAR_SHORT);
         msg.putBytes(payload);
-        encoder.encode(ctx, new GameMessage(msg.getOpcode(), msg.getType(), msg), buffer);
+        buffer = encode(msg);
 
         assertEquals(88, buffer.readUnsignedByte());
         assertEquals(4, buffer.readUnsignedShort());
@@ -76,5 +80,32 @@ final class GameMessageEncoderTest {
         assertEquals('e', buffer.readByte());
         assertEquals('s', buffer.readByte());
         assertEquals('t', buffer.readByte());
+        buffer.release();
+    }
+
+    @Test
+    void payloadIsNotCopied() throws Exception {
+        var msg = ByteMessage.message(54, MessageType.VAR_SHORT);
+        msg.putBytes(payload);
+
+        List<Object> out = new ArrayList<>();
+        encoder.encode(ctx, new GameMessage(msg.getOpcode(), msg.getType(), msg), out);
+
+        assertEquals(2, out.size());
+        assertEquals(3, ((ByteBuf) out.get(0)).readableBytes());
+        assertSame(msg.getBuffer(), out.get(1));
+        out.forEach(buf -> ((ByteBuf) buf).release());
+    }
+
+    /**
+     * Encodes {@code msg} and joins the output into a single buffer.
+     *
+     * @param msg The message to encode.
+     * @return The encoded message.
+     */
+    private ByteBuf encode(ByteMessage msg) throws Exception {
+        List<Object> out = new ArrayList<>();
+        encoder.encode(ctx, new GameMessage(msg.getOpcode(), msg.getType(), msg), out);
+        return Unpooled.wrappedBuffer(out.stream().map(ByteBuf.class::cast).toArray(ByteBuf[]::new));
     }
 }
@@ -0,0 +1,95 @@
+package io.luna.net.msg.out;
+
+import io.luna.game.model.Position;
+import io.luna.game.model.mob.Player;
+import io.luna.net.codec.ByteMessage;
+import io.luna.net.msg.GameMessageWriter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.luna.net.msg.out.NpcUpdateMessageWriterTest.bytes;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link GroupedChunkUpdateMessageWriter} and the chunk-relative updates it groups.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class GroupedChunkUpdateMessageWriterTest {
+
+    /**
+     * The tile offset {@code (3, 5)} within a chunk.
+     */
+    static final int OFFSET = 0x35;
+
+    static Player player;
+
+    @BeforeAll
+    static void initPlayer() {
+        player = mock(Player.class);
+        when(player.getLastRegion()).thenReturn(new Position(3200, 3200));
+    }
+
+    @Test
+    void headerIsLocalYThenNegatedLocalX() {
+        // The chunk is 96 tiles east and 64 tiles north of the region base (3152, 3152).
+        var writer = new GroupedChunkUpdateMessageWriter(new Position(3248, 3216), List.of(new byte[]{1, 2}));
+        ByteMessage msg = writer.write(player);
+
+        assertEquals(60, msg.getOpcode());
+        assertArrayEquals(new byte[]{64, (byte) -96, 1, 2}, bytes(msg));
+    }
+
+    @Test
+    void addGroundItem() {
+        // Item 995 as a little endian ADD short, amount 1000, then the plain offset.
+        assertArrayEquals(new byte[]{44, (byte) 0x63, 0x03, 0x03, (byte) 0xE8, OFFSET},
+                encode(new AddGroundItemMessageWriter(995, 1000, OFFSET)));
+    }
+
+    @Test
+    void removeGroundItem() {
+        // The offset is transformed with ADD, followed by item 995.
+        assertArrayEquals(new byte[]{(byte) 156, (byte) (OFFSET + 128), 0x03, (byte) 0xE3},
+                encode(new RemoveGroundItemMessageWriter(995, OFFSET)));
+    }
+
+    @Test
+    void addObject() {
+        // The offset is transformed with ADD, followed by object 1276 as a little endian short, and the type and
+        // direction transformed with SUBTRACT.
+        assertArrayEquals(new byte[]{(byte) 151, (byte) (OFFSET + 128), (byte) 0xFC, 0x04, 128 - (10 + 2)},
+                encode(new AddObjectMessageWriter(1276, 10, 2, OFFSET)));
+    }
+
+    @Test
+    void removeObject() {
+        assertArrayEquals(new byte[]{101, -(10 + 2), OFFSET},
+                encode(new RemoveObjectMessageWriter(10, 2, OFFSET)));
+    }
+
+    @Test
+    void updatesAreConcatenated() {
+        byte[] encoded = GroupedChunkUpdateMessageWriter.encode(List.of(
+                new RemoveGroundItemMessageWriter(995, OFFSET),
+                new AddGroundItemMessageWriter(995, 1000, OFFSET)), player);
+        byte[] expected = new byte[]{(byte) 156, (byte) (OFFSET + 128), 0x03, (byte) 0xE3,
+                44, (byte) 0x63, 0x03, 0x03, (byte) 0xE8, OFFSET};
+        assertArrayEquals(expected, encoded);
+    }
+
+    /**
+     * Encodes a single update the way it's grouped, as its opcode followed by its payload.
+     *
+     * @param update The update.
+     * @return The encoded update.
+     */
+    private static byte[] encode(GameMessageWriter update) {
+        return GroupedChunkUpdateMessageWriter.encode(List.of(update), player);
+    }
+}
@@ -0,0 +1,194 @@
+package io.luna.net.msg.out;
+
+import io.luna.game.model.Direction;
+import io.luna.game.model.EntityConstants;
+import io.luna.game.model.EntityState;
+import io.luna.game.model.EntityType;
+import io.luna.game.model.Position;
+import io.luna.game.model.World;
+import io.luna.game.model.chunk.ChunkManager;
+import io.luna.game.model.chunk.ChunkSubscriptions;
+import io.luna.game.model.mob.LocalMobList;
+import io.luna.game.model.mob.Npc;
+import io.luna.game.model.mob.Player;
+import io.luna.game.model.mob.block.UpdateFlagSet;
+import io.luna.game.model.mob.block.UpdateFlagSet.UpdateFlag;
+import io.luna.net.codec.ByteMessage;
+import io.netty.buffer.ByteBufUtil;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link NpcUpdateMessageWriter}.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class NpcUpdateMessageWriterTest {
+
+    static final long TICK = 10;
+
+    NpcUpdateMessageWriter writer;
+    Player player;
+    ChunkManager chunks;
+    ChunkSubscriptions subscriptions;
+    LocalMobList<Npc> localNpcs;
+
+    @BeforeEach
+    void initViewer() {
+        writer = new NpcUpdateMessageWriter();
+        player = mock(Player.class);
+        chunks = mock(ChunkManager.class);
+        subscriptions = mock(ChunkSubscriptions.class);
+        localNpcs = new LocalMobList<>(EntityConstants.MAX_LOCAL_MOBS, EntityConstants.MAX_NPCS);
+
+        World world = mock(World.class);
+        when(world.getCurrentTick()).thenReturn(TICK);
+        when(world.getChunks()).thenReturn(chunks);
+
+        // An idle viewer with nothing new around it.
+        when(player.getWorld()).thenReturn(world);
+        when(player.getLocalNpcs()).thenReturn(localNpcs);
+        when(player.getSubscriptions()).thenReturn(subscriptions);
+        when(player.getWalkingDirection()).thenReturn(Direction.NONE);
+        when(player.getPosition()).thenReturn(new Position(3200, 3200));
+        when(player.canView(any())).thenReturn(true);
+        when(subscriptions.isQuiescent(EntityType.NPC, TICK)).thenReturn(true);
+        when(chunks.getUpdateNpcs(eq(player), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    void idlePayloadMatchesFullUpdate() {
+        assertTrue(writer.isIdle(player));
+        assertArrayEquals(bytes(writer.writeUpdate(player)), bytes(writer.write(player)));
+
+        for (int index = 1; index <= 3; index++) {
+            localNpcs.add(npc(index, new Position(3200 + index, 3200)));
+        }
+        assertTrue(writer.isIdle(player));
+        assertArrayEquals(bytes(writer.writeUpdate(player)), bytes(writer.write(player)));
+    }
+
+    @Test
+    void viewerMovementDisablesIdle() {
+        when(player.getWalkingDirection()).thenReturn(Direction.NORTH);
+        assertFalse(writer.isIdle(player));
+
+        when(player.getWalkingDirection()).thenReturn(Direction.NONE);
+        when(player.isTeleporting()).thenReturn(true);
+        assertFalse(writer.isIdle(player));
+
+        when(player.isTeleporting()).thenReturn(false);
+        when(player.isRegionChanged()).thenReturn(true);
+        assertFalse(writer.isIdle(player));
+    }
+
+    @Test
+    void localNpcChangesDisableIdle() {
+        Npc npc = npc(1, new Position(3201, 3200));
+        localNpcs.add(npc);
+
+        npc.getFlags().flag(UpdateFlag.ANIMATION);
+        assertFalse(writer.isIdle(player));
+
+        npc.getFlags().clear();
+        when(npc.getWalkingDirection()).thenReturn(Direction.NORTH);
+        assertFalse(writer.isIdle(player));
+
+        when(npc.getWalkingDirection()).thenReturn(Direction.NONE);
+        when(player.canView(npc)).thenReturn(false);
+        assertFalse(writer.isIdle(player));
+    }
+
+    @Test
+    void candidatesDisableIdle() {
+        when(player.hasPendingLocalNpcs()).thenReturn(true);
+        assertFalse(writer.isIdle(player));
+
+        when(player.hasPendingLocalNpcs()).thenReturn(false);
+        when(subscriptions.isQuiescent(EntityType.NPC, TICK)).thenReturn(false);
+        assertFalse(writer.isIdle(player));
+    }
+
+    @Test
+    void walkingViewerPicksUpIdleNpc() {
+        // An idle NPC just out of viewing distance, in a chunk with no activity.
+        Npc npc = npc(1, new Position(3216, 3200));
+        Position[] position = {new Position(3200, 3200)};
+        when(player.getPosition()).thenAnswer(invocation -> position[0]);
+        when(player.canView(any())).thenAnswer(invocation -> {
+            Npc other = invocation.getArgument(0);
+            return position[0].isWithinDistance(other.getPosition(), EntityConstants.VIEWING_DISTANCE);
+        });
+        when(chunks.getUpdateNpcs(eq(player), anyInt())).thenAnswer(invocation ->
+                player.canView(npc) ? List.of(npc) : List.of());
+
+        bytes(writer.write(player));
+        assertEquals(0, localNpcs.size());
+
+        // The viewer steps east, bringing the NPC into view.
+        position[0] = new Position(3201, 3200);
+        when(player.getWalkingDirection()).thenReturn(Direction.EAST);
+        bytes(writer.write(player));
+        assertTrue(localNpcs.contains(npc));
+    }
+
+    @Test
+    void freedRoomInFullListIsSearched() {
+        for (int index = 1; index <= EntityConstants.MAX_LOCAL_MOBS; index++) {
+            localNpcs.add(npc(index, new Position(3201, 3200)));
+        }
+        Npc leaving = localNpcs.iterator().next();
+        Npc waiting = npc(EntityConstants.MAX_LOCAL_MOBS + 1, new Position(3202, 3200));
+        when(chunks.getUpdateNpcs(eq(player), anyInt())).thenReturn(List.of(waiting));
+
+        // Nothing new is around, but an NPC leaving view frees up room for one that was left out.
+        when(player.canView(leaving)).thenReturn(false);
+        bytes(writer.write(player));
+        assertFalse(localNpcs.contains(leaving));
+        assertTrue(localNpcs.contains(waiting));
+    }
+
+    /**
+     * Creates a mock idle npc.
+     *
+     * @param index The index.
+     * @param position The position.
+     * @return The npc.
+     */
+    static Npc npc(int index, Position position) {
+        Npc npc = mock(Npc.class);
+        UpdateFlagSet flags = new UpdateFlagSet();
+        when(npc.getIndex()).thenReturn(index);
+        when(npc.getState()).thenReturn(EntityState.ACTIVE);
+        when(npc.getFlags()).thenReturn(flags);
+        when(npc.getWalkingDirection()).thenReturn(Direction.NONE);
+        when(npc.getPosition()).thenReturn(position);
+        return npc;
+    }
+
+    /**
+     * Copies the payload of {@code msg} and releases it.
+     *
+     * @param msg The message.
+     * @return The payload.
+     */
+    static byte[] bytes(ByteMessage msg) {
+        try {
+            return ByteBufUtil.getBytes(msg.getBuffer());
+        } finally {
+            msg.release();
+        }
+    }
+}
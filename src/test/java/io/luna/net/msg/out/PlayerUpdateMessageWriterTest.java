@@ -0,0 +1,158 @@
+package io.luna.net.msg.out;
+
+import io.luna.game.model.Direction;
+import io.luna.game.model.EntityConstants;
+import io.luna.game.model.EntityState;
+import io.luna.game.model.EntityType;
+import io.luna.game.model.Position;
+import io.luna.game.model.World;
+import io.luna.game.model.chunk.ChunkManager;
+import io.luna.game.model.chunk.ChunkSubscriptions;
+import io.luna.game.model.mob.LocalMobList;
+import io.luna.game.model.mob.Player;
+import io.luna.game.model.mob.block.UpdateFlagSet;
+import io.luna.game.model.mob.block.UpdateFlagSet.UpdateFlag;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static io.luna.net.msg.out.NpcUpdateMessageWriterTest.bytes;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PlayerUpdateMessageWriter}.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class PlayerUpdateMessageWriterTest {
+
+    static final long TICK = 10;
+
+    PlayerUpdateMessageWriter writer;
+    Player player;
+    ChunkManager chunks;
+    ChunkSubscriptions subscriptions;
+    LocalMobList<Player> localPlayers;
+
+    @BeforeEach
+    void initViewer() {
+        writer = new PlayerUpdateMessageWriter();
+        player = player(1, new Position(3200, 3200));
+        subscriptions = mock(ChunkSubscriptions.class);
+        localPlayers = new LocalMobList<>(EntityConstants.MAX_LOCAL_MOBS, EntityConstants.MAX_PLAYERS);
+
+        World world = mock(World.class);
+        chunks = mock(ChunkManager.class);
+        when(world.getCurrentTick()).thenReturn(TICK);
+        when(world.getChunks()).thenReturn(chunks);
+
+        // An idle viewer with nothing new around it.
+        when(player.getWorld()).thenReturn(world);
+        when(player.getLocalPlayers()).thenReturn(localPlayers);
+        when(player.getSubscriptions()).thenReturn(subscriptions);
+        when(player.canView(any())).thenReturn(true);
+        when(subscriptions.isQuiescent(EntityType.PLAYER, TICK)).thenReturn(true);
+        when(chunks.getUpdatePlayers(eq(player), anyInt())).thenReturn(List.of());
+    }
+
+    @Test
+    void idlePayloadMatchesFullUpdate() {
+        assertTrue(writer.isIdle(player));
+        assertArrayEquals(bytes(writer.writeUpdate(player)), bytes(writer.write(player)));
+
+        for (int index = 2; index <= 4; index++) {
+            localPlayers.add(player(index, new Position(3200 + index, 3200)));
+        }
+        assertTrue(writer.isIdle(player));
+        assertArrayEquals(bytes(writer.writeUpdate(player)), bytes(writer.write(player)));
+    }
+
+    @Test
+    void viewerChangesDisableIdle() {
+        player.getFlags().flag(UpdateFlag.CHAT);
+        assertFalse(writer.isIdle(player));
+
+        player.getFlags().clear();
+        when(player.getWalkingDirection()).thenReturn(Direction.NORTH);
+        assertFalse(writer.isIdle(player));
+
+        when(player.getWalkingDirection()).thenReturn(Direction.NONE);
+        when(player.isTeleporting()).thenReturn(true);
+        assertFalse(writer.isIdle(player));
+
+        when(player.isTeleporting()).thenReturn(false);
+        when(player.isRegionChanged()).thenReturn(true);
+        assertFalse(writer.isIdle(player));
+    }
+
+    @Test
+    void localPlayerChangesDisableIdle() {
+        Player other = player(2, new Position(3201, 3200));
+        localPlayers.add(other);
+
+        other.getFlags().flag(UpdateFlag.APPEARANCE);
+        assertFalse(writer.isIdle(player));
+
+        other.getFlags().clear();
+        when(other.getWalkingDirection()).thenReturn(Direction.NORTH);
+        assertFalse(writer.isIdle(player));
+
+        when(other.getWalkingDirection()).thenReturn(Direction.NONE);
+        when(player.canView(other)).thenReturn(false);
+        assertFalse(writer.isIdle(player));
+    }
+
+    @Test
+    void candidatesDisableIdle() {
+        when(player.hasPendingLocalPlayers()).thenReturn(true);
+        assertFalse(writer.isIdle(player));
+
+        when(player.hasPendingLocalPlayers()).thenReturn(false);
+        when(subscriptions.isQuiescent(EntityType.PLAYER, TICK)).thenReturn(false);
+        assertFalse(writer.isIdle(player));
+    }
+
+    @Test
+    void freedRoomInFullListIsSearched() {
+        for (int index = 2; index <= EntityConstants.MAX_LOCAL_MOBS + 1; index++) {
+            localPlayers.add(player(index, new Position(3201, 3200)));
+        }
+        Player leaving = localPlayers.iterator().next();
+        Player waiting = player(EntityConstants.MAX_LOCAL_MOBS + 2, new Position(3202, 3200));
+        when(waiting.getCachedAppearance()).thenReturn(new byte[]{0});
+        when(chunks.getUpdatePlayers(eq(player), anyInt())).thenReturn(List.of(waiting));
+
+        // Nothing new is around, but a player leaving view frees up room for one that was left out.
+        when(player.canView(leaving)).thenReturn(false);
+        bytes(writer.write(player));
+        assertFalse(localPlayers.contains(leaving));
+        assertTrue(localPlayers.contains(waiting));
+    }
+
+    /**
+     * Creates a mock idle player.
+     *
+     * @param index The index.
+     * @param position The position.
+     * @return The player.
+     */
+    static Player player(int index, Position position) {
+        Player player = mock(Player.class);
+        UpdateFlagSet flags = new UpdateFlagSet();
+        when(player.getIndex()).thenReturn(index);
+        when(player.getState()).thenReturn(EntityState.ACTIVE);
+        when(player.getFlags()).thenReturn(flags);
+        when(player.getWalkingDirection()).thenReturn(Direction.NONE);
+        when(player.getRunningDirection()).thenReturn(Direction.NONE);
+        when(player.getPosition()).thenReturn(position);
+        return player;
+    }
+}
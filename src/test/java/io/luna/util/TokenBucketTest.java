@@ -0,0 +1,53 @@
+package io.luna.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for {@link TokenBucket}.
+ *
+ * @author lare96 <http://github.com/lare96>
+ */
+final class TokenBucketTest {
+
+    static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    void burstThenEmpty() {
+        var bucket = new TokenBucket(1.0, 3, 0);
+        assertTrue(bucket.tryTake(0));
+        assertTrue(bucket.tryTake(0));
+        assertTrue(bucket.tryTake(0));
+        assertFalse(bucket.tryTake(0));
+    }
+
+    @Test
+    void refillsAtRate() {
+        var bucket = new TokenBucket(2.0, 2, 0);
+        assertTrue(bucket.tryTake(0));
+        assertTrue(bucket.tryTake(0));
+
+        assertFalse(bucket.tryTake(SECOND / 4));
+        assertTrue(bucket.tryTake(SECOND / 2));
+        assertFalse(bucket.tryTake(SECOND / 2));
+    }
+
+    @Test
+    void refillIsCappedAtBurst() {
+        var bucket = new TokenBucket(100.0, 2, 0);
+        assertTrue(bucket.tryTake(SECOND * 10));
+        assertTrue(bucket.tryTake(SECOND * 10));
+        assertFalse(bucket.tryTake(SECOND * 10));
+    }
+
+    @Test
+    void invalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(0, 1, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TokenBucket(1, 0, 0));
+    }
+}